@@ -0,0 +1,52 @@
+package scoring
+
+import (
+	"encoding/json"
+	"fmt"
+	"math"
+	"os"
+	"strconv"
+	"testing"
+
+	"github.com/stretchr/testify/assert"
+	"github.com/stretchr/testify/require"
+)
+
+// testdata/score_conformance.json pins the exact output of combineScores and
+// the score suffix. The SDKs recompute scores locally and check themselves
+// against the same file (see sdk/java ScoreCalculator), so a change to the
+// formula means re-recording the vectors and is a breaking change for them too.
+type scoreConformanceVector struct {
+	Name        string          `json:"name"`
+	Components  ScoreComponents `json:"components"`
+	Weights     ScoreWeights    `json:"weights"`
+	ScoreBits   string          `json:"score_bits"`
+	ScoreSuffix string          `json:"score_suffix"`
+}
+
+func loadScoreConformanceVectors(t *testing.T) []scoreConformanceVector {
+	data, err := os.ReadFile("testdata/score_conformance.json")
+	require.NoError(t, err)
+
+	var fixture struct {
+		Vectors []scoreConformanceVector `json:"vectors"`
+	}
+	require.NoError(t, json.Unmarshal(data, &fixture))
+	require.NotEmpty(t, fixture.Vectors)
+	return fixture.Vectors
+}
+
+func TestCombineScoresConformance(t *testing.T) {
+	for _, tt := range loadScoreConformanceVectors(t) {
+		t.Run(tt.Name, func(t *testing.T) {
+			wantBits, err := strconv.ParseUint(tt.ScoreBits, 16, 64)
+			require.NoError(t, err)
+
+			score := combineScores(tt.Components, tt.Weights)
+
+			assert.Equal(t, wantBits, math.Float64bits(score),
+				"got %v, want %v", score, math.Float64frombits(wantBits))
+			assert.Equal(t, tt.ScoreSuffix, fmt.Sprintf("(SC:%.1f)", score))
+		})
+	}
+}
@@ -73,28 +73,23 @@ func (se *ScoringEngine) CalculateComprehensiveScore(ctx context.Context, modelI
 	capabilityScore := se.calculateCapabilityScore(modelInfo, dbModel)
 	recencyScore := se.calculateRecencyScore(modelInfo, dbModel)
 	
-	// Calculate weighted total score
-	totalScore := (responseScore * weights.ResponseSpeed) +
-		(efficiencyScore * weights.ModelEfficiency) +
-		(costScore * weights.CostEffectiveness) +
-		(capabilityScore * weights.Capability) +
-		(recencyScore * weights.Recency)
+	components := ScoreComponents{
+		SpeedScore:      responseScore,
+		EfficiencyScore: efficiencyScore,
+		CostScore:       costScore,
+		CapabilityScore: capabilityScore,
+		RecencyScore:    recencyScore,
+	}
 	
-	// Ensure score is within bounds
-	totalScore = math.Max(0, math.Min(10, totalScore))
+	// Calculate weighted total score
+	totalScore := combineScores(components, weights)
 	
 	score := &ComprehensiveScore{
 		ModelID:     modelID,
 		ModelName:   modelData.Model,
 		OverallScore: totalScore,
 		ScoreSuffix: fmt.Sprintf("(SC:%.1f)", totalScore),
-		Components: ScoreComponents{
-			SpeedScore:      responseScore,
-			EfficiencyScore: efficiencyScore,
-			CostScore:       costScore,
-			CapabilityScore: capabilityScore,
-			RecencyScore:    recencyScore,
-		},
+		Components:  components,
 		LastCalculated: time.Now(),
 		DataSource:   "models.dev",
 	}
@@ -344,6 +339,24 @@ func (se *ScoringEngine) calculateRecencyScore(modelData *ModelData, dbModel *da
 	return math.Max(0, math.Min(10, baseScore))
 }
 
+// combineScores folds the component scores into the overall score, clamped to
+// [0, 10]. The SDKs reproduce this formula locally (see the Java
+// ScoreCalculator), so the order of the terms is part of the contract: keep
+// score_conformance_test.go in step with any change here.
+func combineScores(components ScoreComponents, weights ScoreWeights) float64 {
+	// The explicit float64 conversions force each product to be rounded on its
+	// own, which stops the compiler fusing them into FMA instructions on
+	// architectures that have them.
+	totalScore := float64(components.SpeedScore*weights.ResponseSpeed) +
+		float64(components.EfficiencyScore*weights.ModelEfficiency) +
+		float64(components.CostScore*weights.CostEffectiveness) +
+		float64(components.CapabilityScore*weights.Capability) +
+		float64(components.RecencyScore*weights.Recency)
+	
+	// Ensure score is within bounds
+	return math.Max(0, math.Min(10, totalScore))
+}
+
 // DefaultScoreWeights returns default scoring weights
 func DefaultScoreWeights() ScoreWeights {
 	return ScoreWeights{
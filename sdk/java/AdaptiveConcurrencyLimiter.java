@@ -0,0 +1,186 @@
+package com.llmverifier.sdk;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * AIMD limiter for in-flight requests.
+ * The limit grows by roughly one per round trip while it is being used and responses
+ * are successful, and shrinks multiplicatively on errors, throttling and timeouts.
+ * Latency counts as congestion only under load: when the recent (fast moving) average
+ * round trip of an endpoint group exceeds {@code LATENCY_TOLERANCE} times its baseline
+ * while at least half the limit is in use, and then at most once per round trip. The
+ * baseline follows faster round trips quickly and slower ones slowly, so it settles near
+ * the uncongested latency without being dragged down by a single lucky sample.
+ * Each endpoint group keeps its own averages, so fast reads and slow verifications do not
+ * judge each other. Requests over the limit wait in a bounded FIFO queue; beyond that
+ * they are rejected.
+ */
+public final class AdaptiveConcurrencyLimiter {
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final double LATENCY_TOLERANCE = 2.0;
+    // Smoothing of the recent average (about 10 samples) and of the baseline, which
+    // moves down about as fast and up about 20 times slower
+    private static final double RECENT_WEIGHT = 0.1;
+    private static final double BASELINE_DOWN_WEIGHT = 0.1;
+    private static final double BASELINE_UP_WEIGHT = 0.005;
+    // Samples an endpoint group needs before its averages are trusted
+    private static final int WARMUP_SAMPLES = 20;
+    
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueued;
+    private final Deque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+    private final Map<EndpointGroup, RoundTrips> roundTrips = new EnumMap<>(EndpointGroup.class);
+    
+    private double limit;
+    private int inFlight;
+    private long lastLatencyDecreaseNanos;
+    private long rejectedCount;
+    
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, int maxQueued) {
+        if (minLimit < 1 || initialLimit < minLimit || maxLimit < initialLimit || maxQueued < 0) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max and maxQueued >= 0");
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.maxQueued = maxQueued;
+        this.lastLatencyDecreaseNanos = System.nanoTime();
+    }
+    
+    /**
+     * Default limiter: starts at 20 in-flight requests, adapts between 1 and 500, queues up to 10000
+     */
+    public static AdaptiveConcurrencyLimiter defaultLimiter() {
+        return new AdaptiveConcurrencyLimiter(20, 1, 500, 10_000);
+    }
+    
+    /**
+     * Obtain a permit for one request. The future completes once the request may be
+     * sent, or fails if the wait queue is full. Each permit must be returned through
+     * exactly one of {@link #onSuccess(EndpointGroup, long)}, {@link #onDropped()} or {@link #onIgnored()}.
+     */
+    public CompletableFuture<Void> acquire() {
+        synchronized (this) {
+            if (inFlight < (int) limit) {
+                inFlight++;
+                return CompletableFuture.completedFuture(null);
+            }
+            if (waiters.size() >= maxQueued) {
+                rejectedCount++;
+                return CompletableFuture.failedFuture(new LLMVerifierClient.LLMVerifierException(
+                        "Concurrency limit reached: " + inFlight + " in flight, " + waiters.size() + " queued"));
+            }
+            CompletableFuture<Void> waiter = new CompletableFuture<>();
+            waiters.add(waiter);
+            return waiter;
+        }
+    }
+    
+    /**
+     * The request completed; its round trip time feeds the limit
+     */
+    public void onSuccess(EndpointGroup group, long rttNanos) {
+        synchronized (this) {
+            RoundTrips rtt = roundTrips.computeIfAbsent(group, ignored -> new RoundTrips());
+            rtt.add(rttNanos);
+            // Below half the limit, callers are not pushing the server: neither latency nor
+            // success says anything about the limit
+            if (inFlight * 2 >= limit) {
+                long now = System.nanoTime();
+                if (rtt.isCongested()) {
+                    if (now - lastLatencyDecreaseNanos >= rtt.baseline) {
+                        lastLatencyDecreaseNanos = now;
+                        decrease();
+                    }
+                } else {
+                    limit = Math.min(maxLimit, limit + 1.0 / limit);
+                }
+            }
+        }
+        release();
+    }
+    
+    /**
+     * The request failed in a way that signals overload (error, timeout, 429, 5xx)
+     */
+    public void onDropped() {
+        synchronized (this) {
+            decrease();
+        }
+        release();
+    }
+    
+    /**
+     * The permit was not used to send a request
+     */
+    public void onIgnored() {
+        release();
+    }
+    
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+    
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+    
+    public synchronized int getQueued() {
+        return waiters.size();
+    }
+    
+    public synchronized long getRejectedCount() {
+        return rejectedCount;
+    }
+    
+    private void decrease() {
+        limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+    }
+    
+    /**
+     * Smoothed round trip times of one endpoint group
+     */
+    private static final class RoundTrips {
+        double recent;
+        double baseline;
+        int samples;
+        
+        void add(long rttNanos) {
+            if (samples++ == 0) {
+                recent = rttNanos;
+                baseline = rttNanos;
+                return;
+            }
+            recent += RECENT_WEIGHT * (rttNanos - recent);
+            baseline += (rttNanos < baseline ? BASELINE_DOWN_WEIGHT : BASELINE_UP_WEIGHT) * (rttNanos - baseline);
+        }
+        
+        boolean isCongested() {
+            return samples >= WARMUP_SAMPLES && recent > baseline * LATENCY_TOLERANCE;
+        }
+    }
+    
+    private void release() {
+        List<CompletableFuture<Void>> granted = new ArrayList<>();
+        synchronized (this) {
+            inFlight--;
+            while (inFlight < (int) limit && !waiters.isEmpty()) {
+                inFlight++;
+                granted.add(waiters.poll());
+            }
+        }
+        for (CompletableFuture<Void> waiter : granted) {
+            if (!waiter.complete(null)) {
+                // Waiter was cancelled; hand its permit on
+                release();
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.llmverifier.sdk;
+
+import com.llmverifier.sdk.LLMVerifierClient.BatchVerificationRequest;
+import com.llmverifier.sdk.LLMVerifierClient.LLMVerifierException;
+import com.llmverifier.sdk.LLMVerifierClient.VerificationResult;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.function.Function;
+
+/**
+ * Publishes batch verification results in input order as each sub-batch completes.
+ * Sub-batches are only requested from the server while the subscriber has unmet
+ * demand, so a slow subscriber holds at most a few sub-batches in memory.
+ * Each subscription runs the batch independently.
+ */
+final class BatchVerificationPublisher implements Flow.Publisher<VerificationResult> {
+    private final List<BatchVerificationRequest> requests;
+    private final int chunkSize;
+    private final int maxParallelChunks;
+    private final Function<List<BatchVerificationRequest>, CompletableFuture<List<VerificationResult>>> sender;
+    
+    BatchVerificationPublisher(List<BatchVerificationRequest> requests, int chunkSize, int maxParallelChunks,
+                               Function<List<BatchVerificationRequest>, CompletableFuture<List<VerificationResult>>> sender) {
+        this.requests = List.copyOf(requests);
+        this.chunkSize = chunkSize;
+        this.maxParallelChunks = maxParallelChunks;
+        this.sender = sender;
+    }
+    
+    @Override
+    public void subscribe(Flow.Subscriber<? super VerificationResult> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        BatchSubscription subscription = new BatchSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        subscription.drain();
+    }
+    
+    private final class BatchSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super VerificationResult> subscriber;
+        private final int chunkCount = (requests.size() + chunkSize - 1) / chunkSize;
+        // Completed chunks waiting for their predecessors, keyed by chunk index
+        private final Map<Integer, List<VerificationResult>> completedChunks = new HashMap<>();
+        private final Deque<VerificationResult> ready = new ArrayDeque<>();
+        
+        private long demand;
+        private int nextChunkToSend;
+        private int nextChunkToEmit;
+        private int chunksInFlight;
+        private Throwable error;
+        private boolean cancelled;
+        private boolean terminated;
+        private boolean draining;
+        private boolean missed;
+        
+        BatchSubscription(Flow.Subscriber<? super VerificationResult> subscriber) {
+            this.subscriber = subscriber;
+        }
+        
+        @Override
+        public void request(long n) {
+            synchronized (this) {
+                if (n <= 0) {
+                    error = new IllegalArgumentException("Subscription request must be positive, got " + n);
+                } else {
+                    demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                }
+            }
+            drain();
+        }
+        
+        @Override
+        public void cancel() {
+            synchronized (this) {
+                cancelled = true;
+                ready.clear();
+                completedChunks.clear();
+            }
+        }
+        
+        /**
+         * Serialized signal loop: only one thread emits at a time, others mark the loop as missed
+         */
+        void drain() {
+            synchronized (this) {
+                if (draining) {
+                    missed = true;
+                    return;
+                }
+                draining = true;
+            }
+            while (true) {
+                VerificationResult next = null;
+                Throwable failure = null;
+                boolean complete = false;
+                List<Integer> toSend = Collections.emptyList();
+                synchronized (this) {
+                    if (cancelled || terminated) {
+                        draining = false;
+                        return;
+                    }
+                    if (error != null) {
+                        terminated = true;
+                        failure = error;
+                    } else if (demand > 0 && !ready.isEmpty()) {
+                        next = ready.poll();
+                        demand--;
+                    } else if (ready.isEmpty() && nextChunkToEmit == chunkCount) {
+                        terminated = true;
+                        complete = true;
+                    } else {
+                        toSend = claimChunks();
+                        if (toSend.isEmpty() && !missed) {
+                            draining = false;
+                            return;
+                        }
+                        missed = false;
+                    }
+                }
+                if (failure != null) {
+                    subscriber.onError(failure);
+                } else if (complete) {
+                    subscriber.onComplete();
+                } else if (next != null) {
+                    subscriber.onNext(next);
+                } else {
+                    toSend.forEach(this::sendChunk);
+                }
+            }
+        }
+        
+        /**
+         * Chunks to request now: enough to cover outstanding demand, within the parallelism cap
+         */
+        private List<Integer> claimChunks() {
+            List<Integer> claimed = new ArrayList<>();
+            long buffered = ready.size() + (long) chunksInFlight * chunkSize;
+            for (List<VerificationResult> chunk : completedChunks.values()) {
+                buffered += chunk.size();
+            }
+            while (nextChunkToSend < chunkCount && chunksInFlight < maxParallelChunks && buffered < demand) {
+                claimed.add(nextChunkToSend++);
+                chunksInFlight++;
+                buffered += chunkSize;
+            }
+            return claimed;
+        }
+        
+        private void sendChunk(int chunk) {
+            int from = chunk * chunkSize;
+            int to = Math.min(from + chunkSize, requests.size());
+            CompletableFuture<List<VerificationResult>> response;
+            try {
+                response = sender.apply(requests.subList(from, to));
+            } catch (RuntimeException e) {
+                response = CompletableFuture.failedFuture(e);
+            }
+            response.whenComplete((results, failure) -> {
+                synchronized (this) {
+                    chunksInFlight--;
+                    if (failure != null) {
+                        error = failure instanceof CompletionException && failure.getCause() != null
+                                ? failure.getCause() : failure;
+                    } else if (results == null || results.size() != to - from) {
+                        error = new LLMVerifierException("Batch chunk " + chunk + " returned "
+                                + (results == null ? 0 : results.size()) + " results for " + (to - from) + " requests");
+                    } else if (!cancelled) {
+                        completedChunks.put(chunk, results);
+                        // Release chunks to the subscriber strictly in input order
+                        List<VerificationResult> inOrder;
+                        while ((inOrder = completedChunks.remove(nextChunkToEmit)) != null) {
+                            ready.addAll(inOrder);
+                            nextChunkToEmit++;
+                        }
+                    }
+                }
+                drain();
+            });
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.llmverifier.sdk;
+
+import java.io.InputStream;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+/**
+ * Reads a response body directly from the buffers the HTTP client received,
+ * without first copying them into one contiguous array
+ */
+final class ByteBufferInputStream extends InputStream {
+    private final List<ByteBuffer> buffers;
+    private int index;
+    
+    ByteBufferInputStream(List<ByteBuffer> buffers) {
+        this.buffers = buffers;
+    }
+    
+    /**
+     * Body handler that keeps the received buffers as they are
+     */
+    static HttpResponse.BodyHandler<List<ByteBuffer>> bodyHandler() {
+        return responseInfo -> new BufferCollector();
+    }
+    
+    static long size(List<ByteBuffer> buffers) {
+        long size = 0;
+        for (ByteBuffer buffer : buffers) {
+            size += buffer.remaining();
+        }
+        return size;
+    }
+    
+    /**
+     * Decode at most maxBytes of the body as UTF-8, for error messages
+     */
+    static String toString(List<ByteBuffer> buffers, int maxBytes) {
+        byte[] bytes = new byte[(int) Math.min(maxBytes, size(buffers))];
+        int offset = 0;
+        for (ByteBuffer buffer : buffers) {
+            int length = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.duplicate().get(bytes, offset, length);
+            offset += length;
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    @Override
+    public int read() {
+        ByteBuffer buffer = current();
+        return buffer == null ? -1 : buffer.get() & 0xFF;
+    }
+    
+    @Override
+    public int read(byte[] target, int offset, int length) {
+        if (length == 0) {
+            return 0;
+        }
+        ByteBuffer buffer = current();
+        if (buffer == null) {
+            return -1;
+        }
+        int count = Math.min(length, buffer.remaining());
+        buffer.get(target, offset, count);
+        return count;
+    }
+    
+    @Override
+    public int available() {
+        ByteBuffer buffer = current();
+        return buffer == null ? 0 : buffer.remaining();
+    }
+    
+    private ByteBuffer current() {
+        while (index < buffers.size()) {
+            ByteBuffer buffer = buffers.get(index);
+            if (buffer.hasRemaining()) {
+                return buffer;
+            }
+            index++;
+        }
+        return null;
+    }
+    
+    private static final class BufferCollector implements HttpResponse.BodySubscriber<List<ByteBuffer>> {
+        private final CompletableFuture<List<ByteBuffer>> result = new CompletableFuture<>();
+        private final List<ByteBuffer> received = new ArrayList<>();
+        
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+        
+        @Override
+        public void onNext(List<ByteBuffer> items) {
+            received.addAll(items);
+        }
+        
+        @Override
+        public void onError(Throwable throwable) {
+            result.completeExceptionally(throwable);
+        }
+        
+        @Override
+        public void onComplete() {
+            result.complete(received);
+        }
+        
+        @Override
+        public CompletionStage<List<ByteBuffer>> getBody() {
+            return result;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.llmverifier.sdk;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for the client's response cache
+ */
+public final class CacheStats {
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    
+    void recordHit(boolean stale) {
+        (stale ? staleHits : hits).increment();
+    }
+    
+    void recordMiss() {
+        misses.increment();
+    }
+    
+    void recordLoad(long nanos, boolean failed) {
+        (failed ? loadFailures : loads).increment();
+        loadNanos.add(nanos);
+    }
+    
+    void recordEviction() {
+        evictions.increment();
+    }
+    
+    void recordInvalidations(int count) {
+        invalidations.add(count);
+    }
+    
+    /**
+     * Reads answered with a fresh entry
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+    
+    /**
+     * Reads answered with an expired entry while it was refreshed in the background
+     */
+    public long getStaleHits() {
+        return staleHits.sum();
+    }
+    
+    /**
+     * Reads that had to wait for the server, including reads that bypassed the cache
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+    
+    public long getLoads() {
+        return loads.sum();
+    }
+    
+    public long getLoadFailures() {
+        return loadFailures.sum();
+    }
+    
+    /**
+     * Mean time of a load (foreground or background refresh), in milliseconds
+     */
+    public double getAverageLoadMillis() {
+        long count = loads.sum() + loadFailures.sum();
+        return count == 0 ? 0 : loadNanos.sum() / 1e6 / count;
+    }
+    
+    /**
+     * Entries removed to stay within the size bound
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+    
+    /**
+     * Entries removed because a server event said they changed
+     */
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+    
+    public double getHitRate() {
+        long hitCount = hits.sum() + staleHits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+}
@@ -0,0 +1,240 @@
+package com.llmverifier.sdk;
+
+import com.llmverifier.sdk.LLMVerifierClient.Model;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+
+/**
+ * Local copy of the model catalog kept current by delta synchronization.
+ * Each sync asks the server only for models updated since the newest
+ * {@code updatedAt} already held (the high-water mark) and applies them as inserts,
+ * updates or deactivations. The mark is inclusive, so models updated in the same
+ * millisecond as the previous sync are not missed; a model whose {@code updatedAt}
+ * did not move, or that has no {@code updatedAt} and an identical record, is treated
+ * as unchanged. Deactivated models stay addressable by id but are left out of
+ * {@link #getModels()}.
+ */
+public final class CatalogReplica implements AutoCloseable {
+    
+    public enum ChangeType {
+        ADDED,
+        UPDATED,
+        DEACTIVATED
+    }
+    
+    /**
+     * One applied change; previous is null for additions
+     */
+    public static final class Change {
+        private final ChangeType type;
+        private final Model model;
+        private final Model previous;
+        
+        Change(ChangeType type, Model model, Model previous) {
+            this.type = type;
+            this.model = model;
+            this.previous = previous;
+        }
+        
+        public ChangeType getType() {
+            return type;
+        }
+        
+        public Model getModel() {
+            return model;
+        }
+        
+        public Model getPrevious() {
+            return previous;
+        }
+    }
+    
+    /**
+     * Receives the changes of each sync that changed anything, in server order
+     */
+    @FunctionalInterface
+    public interface Listener {
+        void onChanges(List<Change> changes);
+    }
+    
+    private final Function<Date, CompletableFuture<List<Model>>> fetchUpdatedSince;
+    private final Executor executor;
+    private final Map<String, Model> models = new ConcurrentHashMap<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    
+    private Date highWaterMark;
+    private CompletableFuture<List<Change>> inFlight;
+    private ScheduledFuture<?> schedule;
+    private long syncs;
+    private long failedSyncs;
+    private long modelsReceived;
+    
+    CatalogReplica(Function<Date, CompletableFuture<List<Model>>> fetchUpdatedSince, Executor executor) {
+        this.fetchUpdatedSince = fetchUpdatedSince;
+        this.executor = executor;
+    }
+    
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+    
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+    
+    /**
+     * Fetch and apply changes since the last sync; the first sync loads the full catalog.
+     * While a sync is running, callers join it.
+     */
+    public synchronized CompletableFuture<List<Change>> sync() {
+        if (inFlight != null) {
+            return inFlight;
+        }
+        CompletableFuture<List<Change>> result = fetchUpdatedSince.apply(highWaterMark)
+                .thenApply(this::apply);
+        inFlight = result;
+        result.whenComplete((changes, error) -> {
+            synchronized (this) {
+                inFlight = null;
+                syncs++;
+                if (error != null) {
+                    failedSyncs++;
+                }
+            }
+            if (changes != null && !changes.isEmpty()) {
+                notifyListeners(changes);
+            }
+        });
+        return result;
+    }
+    
+    /**
+     * Sync every interval until closed; a failed sync is simply retried at the next tick
+     */
+    public synchronized void start(Duration interval) {
+        if (schedule != null) {
+            throw new IllegalStateException("Replica is already syncing");
+        }
+        long millis = interval.toMillis();
+        schedule = Schedulers.SHARED.scheduleWithFixedDelay(() -> {
+            try {
+                executor.execute(this::sync);
+            } catch (RejectedExecutionException e) {
+                // Client closed
+                close();
+            }
+        }, 0, millis, TimeUnit.MILLISECONDS);
+    }
+    
+    @Override
+    public synchronized void close() {
+        if (schedule != null) {
+            schedule.cancel(false);
+            schedule = null;
+        }
+    }
+    
+    public Model get(String modelId) {
+        return models.get(modelId);
+    }
+    
+    /**
+     * Active models in the replica
+     */
+    public List<Model> getModels() {
+        List<Model> active = new ArrayList<>(models.size());
+        for (Model model : models.values()) {
+            if (model.isActive) {
+                active.add(model);
+            }
+        }
+        return active;
+    }
+    
+    /**
+     * Newest updatedAt applied so far, or null before the first sync
+     */
+    public synchronized Date getHighWaterMark() {
+        return highWaterMark;
+    }
+    
+    public synchronized long getSyncs() {
+        return syncs;
+    }
+    
+    public synchronized long getFailedSyncs() {
+        return failedSyncs;
+    }
+    
+    /**
+     * Models transferred over all syncs; compare with the replica size to see what delta sync saved
+     */
+    public synchronized long getModelsReceived() {
+        return modelsReceived;
+    }
+    
+    private synchronized List<Change> apply(List<Model> received) {
+        List<Change> changes = new ArrayList<>();
+        if (received == null) {
+            return changes;
+        }
+        modelsReceived += received.size();
+        for (Model model : received) {
+            if (model.id == null) {
+                continue;
+            }
+            Model previous = models.get(model.id);
+            if (previous != null && (isNotNewer(model, previous) || sameContent(model, previous))) {
+                continue;
+            }
+            models.put(model.id, model);
+            if (previous == null) {
+                // A model first seen inactive is recorded, but was never active here to deactivate
+                if (model.isActive) {
+                    changes.add(new Change(ChangeType.ADDED, model, null));
+                }
+            } else if (previous.isActive && !model.isActive) {
+                changes.add(new Change(ChangeType.DEACTIVATED, model, previous));
+            } else {
+                changes.add(new Change(ChangeType.UPDATED, model, previous));
+            }
+            if (model.updatedAt != null && (highWaterMark == null || model.updatedAt.after(highWaterMark))) {
+                highWaterMark = model.updatedAt;
+            }
+        }
+        return changes;
+    }
+    
+    private static boolean isNotNewer(Model model, Model previous) {
+        return model.updatedAt != null && previous.updatedAt != null
+                && !model.updatedAt.after(previous.updatedAt);
+    }
+    
+    /**
+     * Unchanged check for records without an updatedAt to compare
+     */
+    private static boolean sameContent(Model model, Model previous) {
+        return Objects.equals(model.name, previous.name)
+                && Objects.equals(model.provider, previous.provider)
+                && Double.compare(model.overallScore, previous.overallScore) == 0
+                && Objects.equals(model.scoreSuffix, previous.scoreSuffix)
+                && Objects.equals(model.scores, previous.scores)
+                && model.isActive == previous.isActive
+                && Objects.equals(model.createdAt, previous.createdAt)
+                && Objects.equals(model.updatedAt, previous.updatedAt);
+    }
+    
+    private void notifyListeners(List<Change> changes) {
+        List<Change> view = Collections.unmodifiableList(changes);
+        for (Listener listener : listeners) {
+            try {
+                listener.onChanges(view);
+            } catch (RuntimeException e) {
+                // One failing listener must not keep the others from seeing the changes
+            }
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.llmverifier.sdk;
+
+import com.llmverifier.sdk.LLMVerifierClient.Model;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Model catalog persisted in a compact binary file that is read back through a
+ * memory mapping. Layout (big-endian):
+ * <pre>
+ * header   magic "LVCS" | u16 version | u16 reserved | i64 savedAt millis
+ *          | i32 modelCount | i32 scoreCount | i32 stringCount
+ * strings  stringCount x (i32 byteLength | UTF-8 bytes)      deduplicated
+ * models   modelCount x fixed 49-byte record:
+ *          i32 id | i32 name | i32 provider | i32 scoreSuffix  (string index, -1 = null)
+ *          | f64 overallScore | u8 isActive | i64 createdAt | i64 updatedAt (Long.MIN_VALUE = null)
+ *          | i32 firstScore | i32 scoreCount (-1 = null map)
+ * scores   scoreCount x (i32 key string index | f64 value)
+ * </pre>
+ * Fixed-size records keep every model addressable by index without parsing its
+ * predecessors. Files are replaced atomically, so readers never see a partial write.
+ */
+final class CatalogSnapshot {
+    private static final int MAGIC = 0x4C564353;
+    private static final short VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 2 + 2 + 8 + 4 + 4 + 4;
+    private static final int MODEL_BYTES = 4 * 4 + 8 + 1 + 8 + 8 + 4 + 4;
+    private static final int SCORE_BYTES = 4 + 8;
+    private static final long NULL_DATE = Long.MIN_VALUE;
+    
+    private CatalogSnapshot() {
+    }
+    
+    static List<Model> read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return decode(buffer);
+        } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException
+                 | NegativeArraySizeException e) {
+            throw new IOException("Corrupt catalog snapshot " + file, e);
+        }
+    }
+    
+    static void write(Path file, List<Model> models) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = encode(models);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+    
+    private static ByteBuffer encode(List<Model> models) {
+        Map<String, Integer> stringIndex = new HashMap<>();
+        List<byte[]> strings = new ArrayList<>();
+        int stringBytes = 0;
+        int scoreCount = 0;
+        for (Model model : models) {
+            for (String value : Arrays.asList(model.id, model.name, model.provider, model.scoreSuffix)) {
+                stringBytes += intern(value, stringIndex, strings);
+            }
+            if (model.scores != null) {
+                for (String key : model.scores.keySet()) {
+                    stringBytes += intern(key, stringIndex, strings);
+                }
+                scoreCount += model.scores.size();
+            }
+        }
+        
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + strings.size() * 4 + stringBytes
+                + models.size() * MODEL_BYTES + scoreCount * SCORE_BYTES);
+        buffer.putInt(MAGIC).putShort(VERSION).putShort((short) 0).putLong(System.currentTimeMillis())
+                .putInt(models.size()).putInt(scoreCount).putInt(strings.size());
+        for (byte[] string : strings) {
+            buffer.putInt(string.length).put(string);
+        }
+        int firstScore = 0;
+        for (Model model : models) {
+            buffer.putInt(indexOf(model.id, stringIndex))
+                    .putInt(indexOf(model.name, stringIndex))
+                    .putInt(indexOf(model.provider, stringIndex))
+                    .putInt(indexOf(model.scoreSuffix, stringIndex))
+                    .putDouble(model.overallScore)
+                    .put((byte) (model.isActive ? 1 : 0))
+                    .putLong(model.createdAt != null ? model.createdAt.getTime() : NULL_DATE)
+                    .putLong(model.updatedAt != null ? model.updatedAt.getTime() : NULL_DATE)
+                    .putInt(firstScore)
+                    .putInt(model.scores != null ? model.scores.size() : -1);
+            if (model.scores != null) {
+                firstScore += model.scores.size();
+            }
+        }
+        for (Model model : models) {
+            if (model.scores != null) {
+                for (Map.Entry<String, Double> score : model.scores.entrySet()) {
+                    buffer.putInt(indexOf(score.getKey(), stringIndex))
+                            .putDouble(score.getValue() != null ? score.getValue() : Double.NaN);
+                }
+            }
+        }
+        return buffer.flip();
+    }
+    
+    private static List<Model> decode(ByteBuffer buffer) throws IOException {
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("Not a catalog snapshot");
+        }
+        short version = buffer.getShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported catalog snapshot version " + version);
+        }
+        buffer.getShort();
+        buffer.getLong();
+        int modelCount = buffer.getInt();
+        int scoreCount = buffer.getInt();
+        int stringCount = buffer.getInt();
+        // Counts come from the file: check them against its size before allocating anything
+        if (modelCount < 0 || scoreCount < 0 || stringCount < 0 || (long) stringCount * 4 > buffer.remaining()) {
+            throw new IOException("Invalid catalog snapshot counts");
+        }
+        String[] strings = new String[stringCount];
+        for (int i = 0; i < strings.length; i++) {
+            int length = buffer.getInt();
+            if (length < 0 || length > buffer.remaining()) {
+                throw new IOException("Invalid catalog snapshot string length");
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        long scoresEnd = buffer.position() + (long) modelCount * MODEL_BYTES + (long) scoreCount * SCORE_BYTES;
+        if (scoresEnd != buffer.limit()) {
+            throw new IOException("Truncated catalog snapshot");
+        }
+        // Fits in an int now: it lies within the mapped buffer
+        int scoresStart = buffer.position() + modelCount * MODEL_BYTES;
+        List<Model> models = new ArrayList<>(modelCount);
+        for (int i = 0; i < modelCount; i++) {
+            Model model = new Model();
+            model.id = string(strings, buffer.getInt());
+            model.name = string(strings, buffer.getInt());
+            model.provider = string(strings, buffer.getInt());
+            model.scoreSuffix = string(strings, buffer.getInt());
+            model.overallScore = buffer.getDouble();
+            model.isActive = buffer.get() != 0;
+            model.createdAt = date(buffer.getLong());
+            model.updatedAt = date(buffer.getLong());
+            int firstScore = buffer.getInt();
+            int scores = buffer.getInt();
+            if (scores < -1 || scores >= 0 && (firstScore < 0 || (long) firstScore + scores > scoreCount)) {
+                throw new IOException("Invalid catalog snapshot score range");
+            }
+            if (scores >= 0) {
+                model.scores = new LinkedHashMap<>();
+                for (int s = 0; s < scores; s++) {
+                    int offset = scoresStart + (firstScore + s) * SCORE_BYTES;
+                    double value = buffer.getDouble(offset + 4);
+                    model.scores.put(string(strings, buffer.getInt(offset)), Double.isNaN(value) ? null : value);
+                }
+            }
+            models.add(model);
+        }
+        return models;
+    }
+    
+    private static int intern(String value, Map<String, Integer> stringIndex, List<byte[]> strings) {
+        if (value == null || stringIndex.containsKey(value)) {
+            return 0;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        stringIndex.put(value, strings.size());
+        strings.add(bytes);
+        return bytes.length;
+    }
+    
+    private static int indexOf(String value, Map<String, Integer> stringIndex) {
+        return value != null ? stringIndex.get(value) : -1;
+    }
+    
+    private static String string(String[] strings, int index) {
+        return index >= 0 ? strings[index] : null;
+    }
+    
+    private static Date date(long millis) {
+        return millis != NULL_DATE ? new Date(millis) : null;
+    }
+}
@@ -0,0 +1,192 @@
+package com.llmverifier.sdk;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Closed/open/half-open circuit breaker for one endpoint group.
+ * After {@code failureThreshold} consecutive failures the breaker opens and calls
+ * fail fast with {@link OpenException}. Once {@code openDuration} has passed a single
+ * trial call is let through: its success closes the breaker, its failure re-opens it.
+ * Outcomes are matched to the state they were admitted under, so a slow call that
+ * started before the breaker opened cannot decide the trial.
+ */
+public final class CircuitBreaker {
+    
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+    
+    /**
+     * Receives breaker state changes, e.g. to forward them to a metrics or alerting system
+     */
+    @FunctionalInterface
+    public interface Listener {
+        void onStateChange(EndpointGroup group, State from, State to);
+    }
+    
+    private final EndpointGroup group;
+    private final int failureThreshold;
+    private final long openDurationNanos;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    
+    /**
+     * Returned by {@link #tryAcquire()} when the call must fail fast
+     */
+    public static final long REJECTED = -1;
+    
+    private State state = State.CLOSED;
+    // Bumped on every state change; outcomes of calls admitted under an older one are stale
+    private long generation;
+    private int consecutiveFailures;
+    private long openedAtNanos;
+    private boolean trialInFlight;
+    
+    private long successCount;
+    private long failureCount;
+    private long rejectedCount;
+    private long openCount;
+    
+    public CircuitBreaker(EndpointGroup group, int failureThreshold, Duration openDuration) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("failureThreshold must be at least 1");
+        }
+        this.group = group;
+        this.failureThreshold = failureThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+    }
+    
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+    
+    /**
+     * Ask permission to send one request; returns a permit, or {@link #REJECTED}.
+     * Every granted call must be followed by {@link #onSuccess(long)}, {@link #onFailure(long)}
+     * or {@link #onIgnored(long)} with its permit.
+     */
+    public long tryAcquire() {
+        State from;
+        long permit;
+        synchronized (this) {
+            if (state == State.CLOSED) {
+                return generation;
+            }
+            if (state == State.OPEN && System.nanoTime() - openedAtNanos < openDurationNanos
+                    || state == State.HALF_OPEN && trialInFlight) {
+                rejectedCount++;
+                return REJECTED;
+            }
+            from = state;
+            state = State.HALF_OPEN;
+            permit = ++generation;
+            trialInFlight = true;
+        }
+        notifyListeners(from, State.HALF_OPEN);
+        return permit;
+    }
+    
+    public void onSuccess(long permit) {
+        State from;
+        synchronized (this) {
+            successCount++;
+            if (permit != generation) {
+                // Admitted before the last state change: says nothing about the server now
+                return;
+            }
+            consecutiveFailures = 0;
+            trialInFlight = false;
+            if (state != State.HALF_OPEN) {
+                return;
+            }
+            from = state;
+            state = State.CLOSED;
+            generation++;
+        }
+        notifyListeners(from, State.CLOSED);
+    }
+    
+    public void onFailure(long permit) {
+        State from;
+        synchronized (this) {
+            failureCount++;
+            if (permit != generation) {
+                return;
+            }
+            consecutiveFailures++;
+            trialInFlight = false;
+            if (state == State.OPEN || state == State.CLOSED && consecutiveFailures < failureThreshold) {
+                return;
+            }
+            from = state;
+            state = State.OPEN;
+            generation++;
+            openedAtNanos = System.nanoTime();
+            openCount++;
+        }
+        notifyListeners(from, State.OPEN);
+    }
+    
+    /**
+     * A granted call ended without reaching the server
+     */
+    public synchronized void onIgnored(long permit) {
+        if (permit == generation) {
+            trialInFlight = false;
+        }
+    }
+    
+    public EndpointGroup getGroup() {
+        return group;
+    }
+    
+    public synchronized State getState() {
+        return state;
+    }
+    
+    public synchronized long getSuccessCount() {
+        return successCount;
+    }
+    
+    public synchronized long getFailureCount() {
+        return failureCount;
+    }
+    
+    /**
+     * Calls failed fast without reaching the server
+     */
+    public synchronized long getRejectedCount() {
+        return rejectedCount;
+    }
+    
+    /**
+     * Number of times the breaker has opened
+     */
+    public synchronized long getOpenCount() {
+        return openCount;
+    }
+    
+    private void notifyListeners(State from, State to) {
+        for (Listener listener : listeners) {
+            try {
+                listener.onStateChange(group, from, to);
+            } catch (RuntimeException ignored) {
+                // A faulty listener must not break request handling
+            }
+        }
+    }
+    
+    /**
+     * Thrown when a call is rejected because the breaker is open
+     */
+    public static class OpenException extends LLMVerifierClient.LLMVerifierException {
+        private static final long serialVersionUID = 1L;
+        
+        public OpenException(EndpointGroup group) {
+            super("Circuit breaker open for " + group + " endpoints");
+        }
+    }
+}
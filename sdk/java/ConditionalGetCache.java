@@ -0,0 +1,68 @@
+package com.llmverifier.sdk;
+
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Remembers the ETag / Last-Modified validators of GET responses together with the
+ * response they came with, so a repeated GET can be sent conditionally and a
+ * 304 Not Modified answered with the already deserialized object. Bounded, least
+ * recently used paths are forgotten first.
+ */
+final class ConditionalGetCache {
+    private final int maxEntries;
+    private final Map<String, Validated> entries;
+    
+    /**
+     * A response and the validators that identify its version
+     */
+    static final class Validated {
+        final String etag;
+        final String lastModified;
+        final Object value;
+        
+        Validated(String etag, String lastModified, Object value) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.value = value;
+        }
+        
+        void addValidators(HttpRequest.Builder request) {
+            if (etag != null) {
+                request.header("If-None-Match", etag);
+            } else {
+                request.header("If-Modified-Since", lastModified);
+            }
+        }
+    }
+    
+    ConditionalGetCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Validated> eldest) {
+                return size() > ConditionalGetCache.this.maxEntries;
+            }
+        };
+    }
+    
+    synchronized Validated get(String path) {
+        return entries.get(path);
+    }
+    
+    /**
+     * Record a full response; responses without validators replace nothing and are not kept
+     */
+    synchronized void store(String path, HttpHeaders headers, Object value) {
+        Optional<String> etag = headers.firstValue("ETag");
+        Optional<String> lastModified = headers.firstValue("Last-Modified");
+        if (value == null || etag.isEmpty() && lastModified.isEmpty()) {
+            entries.remove(path);
+            return;
+        }
+        entries.put(path, new Validated(etag.orElse(null), lastModified.orElse(null), value));
+    }
+}
@@ -0,0 +1,107 @@
+package com.llmverifier.sdk;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.net.http.HttpHeaders;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Streaming decoders for compressed response bodies.
+ * gzip is always supported; brotli is advertised only when the
+ * org.brotli:dec decoder is on the classpath.
+ */
+final class ContentDecoding {
+    private static final int BUFFER_SIZE = 8192;
+    private static final Constructor<?> BROTLI_DECODER = findBrotliDecoder();
+    
+    static final String ACCEPT_ENCODING = BROTLI_DECODER != null ? "br, gzip" : "gzip";
+    
+    private ContentDecoding() {
+    }
+    
+    /**
+     * Wrap a raw body so it reads decompressed bytes, according to its Content-Encoding
+     */
+    static InputStream decode(InputStream raw, HttpHeaders headers) throws IOException {
+        String encoding = headers.firstValue("Content-Encoding").orElse("identity").trim().toLowerCase(Locale.ROOT);
+        switch (encoding) {
+            case "":
+            case "identity":
+                return raw;
+            case "gzip":
+            case "x-gzip":
+                return new GZIPInputStream(raw, BUFFER_SIZE);
+            case "br":
+                if (BROTLI_DECODER != null) {
+                    return newBrotliStream(raw);
+                }
+                raw.close();
+                throw new IOException("Brotli response received but org.brotli:dec is not on the classpath");
+            default:
+                raw.close();
+                throw new IOException("Unsupported Content-Encoding: " + encoding);
+        }
+    }
+    
+    private static InputStream newBrotliStream(InputStream raw) throws IOException {
+        try {
+            return (InputStream) BROTLI_DECODER.newInstance(raw);
+        } catch (InvocationTargetException e) {
+            throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new IOException("Brotli decoder unavailable", e);
+        }
+    }
+    
+    private static Constructor<?> findBrotliDecoder() {
+        try {
+            return Class.forName("org.brotli.dec.BrotliInputStream").getConstructor(InputStream.class);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Counts the bytes read through it, to report decoded sizes
+     */
+    static final class CountingInputStream extends FilterInputStream {
+        private long count;
+        
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+        
+        long getCount() {
+            return count;
+        }
+        
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+        
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+        
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
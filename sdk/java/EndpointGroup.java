@@ -0,0 +1,34 @@
+package com.llmverifier.sdk;
+
+/**
+ * Groups of API endpoints that share resilience settings
+ * (retry policies, circuit breakers, metrics)
+ */
+public enum EndpointGroup {
+    MODELS("/api/models"),
+    VERIFY("/api/verify"),
+    SCORING("/api/scoring"),
+    ENTERPRISE_AUTH("/api/enterprise");
+    
+    private final String pathPrefix;
+    
+    EndpointGroup(String pathPrefix) {
+        this.pathPrefix = pathPrefix;
+    }
+    
+    public String getPathPrefix() {
+        return pathPrefix;
+    }
+    
+    /**
+     * Resolve the group an API path belongs to
+     */
+    public static EndpointGroup forPath(String path) {
+        for (EndpointGroup group : values()) {
+            if (path.startsWith(group.pathPrefix)) {
+                return group;
+            }
+        }
+        throw new IllegalArgumentException("Unknown endpoint group for path: " + path);
+    }
+}
@@ -0,0 +1,79 @@
+package com.llmverifier.sdk;
+
+import com.llmverifier.sdk.LLMVerifierClient.Event;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Fixed-capacity FIFO of events over a preallocated array. Slots are addressed by
+ * a running sequence number, which lets coalescing find and overwrite the queued
+ * event of a model in place. Not thread-safe; guarded by the owning subscription.
+ */
+final class EventRingBuffer {
+    private final Event[] slots;
+    // Sequence of the latest queued event per model; only maintained when coalescing
+    private final Map<Long, Long> sequenceByModel;
+    private long head;
+    private long tail;
+    
+    EventRingBuffer(int capacity, boolean coalesceByModel) {
+        this.slots = new Event[capacity];
+        this.sequenceByModel = coalesceByModel ? new HashMap<>() : null;
+    }
+    
+    int size() {
+        return (int) (tail - head);
+    }
+    
+    boolean isFull() {
+        return tail - head == slots.length;
+    }
+    
+    void add(Event event) {
+        slots[index(tail)] = event;
+        if (sequenceByModel != null && event.modelId != null) {
+            sequenceByModel.put(event.modelId, tail);
+        }
+        tail++;
+    }
+    
+    Event poll() {
+        if (head == tail) {
+            return null;
+        }
+        int index = index(head);
+        Event event = slots[index];
+        slots[index] = null;
+        if (sequenceByModel != null && event.modelId != null) {
+            sequenceByModel.remove(event.modelId, head);
+        }
+        head++;
+        return event;
+    }
+    
+    /**
+     * Overwrite the queued event for the same model, keeping its place in line
+     */
+    boolean replaceSameModel(Event event) {
+        if (sequenceByModel == null || event.modelId == null) {
+            return false;
+        }
+        Long sequence = sequenceByModel.get(event.modelId);
+        if (sequence == null) {
+            return false;
+        }
+        slots[index(sequence)] = event;
+        return true;
+    }
+    
+    void clear() {
+        while (poll() != null) {
+            // release slot references
+        }
+    }
+    
+    private int index(long sequence) {
+        return (int) (sequence % slots.length);
+    }
+}
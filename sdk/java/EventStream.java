@@ -0,0 +1,387 @@
+package com.llmverifier.sdk;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.llmverifier.sdk.LLMVerifierClient.Event;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * One WebSocket to the server's /ws endpoint shared by all subscriptions of a client.
+ * The socket is opened with the first subscription and closed with the last one; in
+ * between, the server-side type filter is kept equal to the union of what the
+ * subscriptions want. Lost connections are re-established with the reconnect policy's
+ * backoff, and a heartbeat ping detects connections that died without a close frame.
+ */
+final class EventStream implements WebSocket.Listener {
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+    
+    private final URI uri;
+    private final String apiKey;
+    private final ObjectMapper objectMapper;
+    private final RetryPolicy reconnectPolicy;
+    private final long heartbeatNanos;
+    private final int queueCapacity;
+    private final OverflowPolicy defaultOverflowPolicy;
+    private final Executor executor;
+    private final Duration connectTimeout;
+    private final List<EventSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    // Only touched from WebSocket callbacks, which the JDK never runs concurrently
+    private final StringBuilder partialMessage = new StringBuilder();
+    private final ByteArrayOutputStream partialBinary = new ByteArrayOutputStream();
+    
+    private HttpClient httpClient;
+    private WebSocket webSocket;
+    private Set<EventType> serverTypes = Collections.emptySet();
+    private CompletableFuture<?> lastSend = CompletableFuture.completedFuture(null);
+    private ScheduledFuture<?> heartbeat;
+    private boolean connecting;
+    private boolean closed;
+    private int failedAttempts;
+    private long lastDelayMillis;
+    private long reconnects;
+    private long connections;
+    private volatile long lastReceivedNanos;
+    // Reads held back by full BLOCK subscriptions; the socket delivers nothing, pongs included, until released
+    private final AtomicInteger blockedReads = new AtomicInteger();
+    
+    EventStream(URI uri, String apiKey, ObjectMapper objectMapper, RetryPolicy reconnectPolicy,
+                Duration heartbeatInterval, int queueCapacity, OverflowPolicy defaultOverflowPolicy,
+                Executor executor, Duration connectTimeout) {
+        this.uri = uri;
+        this.apiKey = apiKey;
+        this.objectMapper = objectMapper;
+        this.reconnectPolicy = reconnectPolicy;
+        this.heartbeatNanos = heartbeatInterval.toNanos();
+        this.queueCapacity = queueCapacity;
+        this.defaultOverflowPolicy = defaultOverflowPolicy;
+        this.executor = executor;
+        this.connectTimeout = connectTimeout;
+    }
+    
+    EventSubscription subscribe(Set<EventType> eventTypes, Consumer<Event> listener, OverflowPolicy overflowPolicy) {
+        Set<EventType> types = eventTypes.isEmpty() ? EnumSet.allOf(EventType.class) : EnumSet.copyOf(eventTypes);
+        EventSubscription subscription = new EventSubscription(types, listener, this, executor, queueCapacity,
+                overflowPolicy != null ? overflowPolicy : defaultOverflowPolicy);
+        synchronized (this) {
+            if (closed) {
+                throw new LLMVerifierClient.LLMVerifierException("Client is closed");
+            }
+            subscriptions.add(subscription);
+            if (webSocket == null) {
+                connect();
+            } else {
+                updateServerTypes();
+            }
+        }
+        return subscription;
+    }
+    
+    void unsubscribe(EventSubscription subscription) {
+        synchronized (this) {
+            if (!subscriptions.remove(subscription)) {
+                return;
+            }
+            if (subscriptions.isEmpty()) {
+                disconnect();
+            } else if (webSocket != null) {
+                updateServerTypes();
+            }
+        }
+    }
+    
+    synchronized boolean isConnected() {
+        return webSocket != null;
+    }
+    
+    synchronized long getReconnects() {
+        return reconnects;
+    }
+    
+    /**
+     * Number of the current connection, or -1 while disconnected. Two equal values
+     * mean no event can have been missed in between.
+     */
+    synchronized long currentConnection() {
+        return webSocket != null ? connections : -1;
+    }
+    
+    void close() {
+        synchronized (this) {
+            closed = true;
+            disconnect();
+        }
+        subscriptions.forEach(EventSubscription::close);
+    }
+    
+    // Connection lifecycle; all called with the monitor held
+    
+    private void connect() {
+        if (connecting || closed || subscriptions.isEmpty()) {
+            return;
+        }
+        connecting = true;
+        if (httpClient == null) {
+            httpClient = HttpClient.newBuilder().executor(executor).connectTimeout(connectTimeout).build();
+        }
+        Set<EventType> types = wantedTypes();
+        httpClient.newWebSocketBuilder()
+                .header("Authorization", "Bearer " + apiKey)
+                .connectTimeout(connectTimeout)
+                .buildAsync(URI.create(uri + "?types=" + join(types)), this)
+                .whenComplete((socket, failure) -> onConnected(socket, failure, types));
+    }
+    
+    private synchronized void onConnected(WebSocket socket, Throwable failure, Set<EventType> types) {
+        connecting = false;
+        if (failure != null) {
+            scheduleReconnect();
+            return;
+        }
+        if (closed || subscriptions.isEmpty()) {
+            socket.sendClose(WebSocket.NORMAL_CLOSURE, "");
+            return;
+        }
+        webSocket = socket;
+        connections++;
+        serverTypes = types;
+        lastSend = CompletableFuture.completedFuture(null);
+        failedAttempts = 0;
+        lastDelayMillis = 0;
+        lastReceivedNanos = System.nanoTime();
+        heartbeat = Schedulers.SHARED.scheduleAtFixedRate(this::onHeartbeatTimer,
+                heartbeatNanos, heartbeatNanos, TimeUnit.NANOSECONDS);
+        // Subscriptions may have changed while the handshake was in flight
+        updateServerTypes();
+    }
+    
+    private void disconnect() {
+        if (heartbeat != null) {
+            heartbeat.cancel(false);
+            heartbeat = null;
+        }
+        if (webSocket != null) {
+            WebSocket socket = webSocket;
+            webSocket = null;
+            lastSend.whenComplete((ignored, failure) -> socket.sendClose(WebSocket.NORMAL_CLOSURE, ""));
+        }
+    }
+    
+    private synchronized void connectionLost(WebSocket socket) {
+        if (webSocket != socket) {
+            return;
+        }
+        webSocket = null;
+        if (heartbeat != null) {
+            heartbeat.cancel(false);
+            heartbeat = null;
+        }
+        scheduleReconnect();
+    }
+    
+    private void scheduleReconnect() {
+        if (closed || subscriptions.isEmpty()) {
+            return;
+        }
+        failedAttempts++;
+        if (!reconnectPolicy.canRetry(failedAttempts)) {
+            return;
+        }
+        reconnects++;
+        lastDelayMillis = reconnectPolicy.nextDelayMillis(lastDelayMillis);
+        Schedulers.delay(lastDelayMillis, TimeUnit.MILLISECONDS, executor)
+                .thenRun(() -> {
+                    synchronized (this) {
+                        if (webSocket == null) {
+                            connect();
+                        }
+                    }
+                });
+    }
+    
+    private void updateServerTypes() {
+        Set<EventType> types = wantedTypes();
+        if (types.equals(serverTypes)) {
+            return;
+        }
+        serverTypes = types;
+        Map<String, Object> message = Map.of("type", "subscribe", "payload", Map.of("types", types));
+        String text;
+        try {
+            text = objectMapper.writeValueAsString(message);
+        } catch (IOException e) {
+            throw new LLMVerifierClient.LLMVerifierException("Failed to encode subscription update", e);
+        }
+        WebSocket socket = webSocket;
+        // WebSocket permits one outstanding text send at a time
+        lastSend = lastSend.handle((ignored, failure) -> null)
+                .thenCompose(ignored -> socket.sendText(text, true));
+    }
+    
+    private Set<EventType> wantedTypes() {
+        Set<EventType> types = EnumSet.noneOf(EventType.class);
+        for (EventSubscription subscription : subscriptions) {
+            types.addAll(subscription.getEventTypes());
+        }
+        return types;
+    }
+    
+    private static String join(Set<EventType> types) {
+        return types.stream().map(EventType::getValue).collect(Collectors.joining(","));
+    }
+    
+    private void onHeartbeatTimer() {
+        try {
+            executor.execute(this::heartbeat);
+        } catch (RejectedExecutionException e) {
+            close();
+        }
+    }
+    
+    private void heartbeat() {
+        WebSocket socket;
+        synchronized (this) {
+            socket = webSocket;
+        }
+        if (socket == null) {
+            return;
+        }
+        // Nothing heard for two intervals, not even a pong: the connection is dead.
+        // Silence is expected while a read is held back, so that does not count
+        if (blockedReads.get() == 0 && System.nanoTime() - lastReceivedNanos > 2 * heartbeatNanos) {
+            socket.abort();
+            connectionLost(socket);
+            return;
+        }
+        socket.sendPing(EMPTY.duplicate());
+    }
+    
+    // WebSocket.Listener
+    
+    @Override
+    public void onOpen(WebSocket webSocket) {
+        webSocket.request(1);
+    }
+    
+    @Override
+    public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+        lastReceivedNanos = System.nanoTime();
+        partialMessage.append(data);
+        if (!last) {
+            webSocket.request(1);
+            return null;
+        }
+        String message = partialMessage.toString();
+        partialMessage.setLength(0);
+        return dispatch(webSocket, message);
+    }
+    
+    @Override
+    public CompletionStage<?> onBinary(WebSocket webSocket, ByteBuffer data, boolean last) {
+        lastReceivedNanos = System.nanoTime();
+        if (!last || partialBinary.size() > 0) {
+            // Copy out: the buffer is only valid until this method returns. Decoding waits
+            // for the last fragment, which may also split a multi-byte character
+            byte[] bytes = new byte[data.remaining()];
+            data.get(bytes);
+            partialBinary.writeBytes(bytes);
+            if (!last) {
+                webSocket.request(1);
+                return null;
+            }
+            String message = partialBinary.toString(StandardCharsets.UTF_8);
+            partialBinary.reset();
+            return dispatch(webSocket, message);
+        }
+        return dispatch(webSocket, StandardCharsets.UTF_8.decode(data).toString());
+    }
+    
+    @Override
+    public CompletionStage<?> onPing(WebSocket webSocket, ByteBuffer message) {
+        lastReceivedNanos = System.nanoTime();
+        webSocket.request(1);
+        return null;
+    }
+    
+    @Override
+    public CompletionStage<?> onPong(WebSocket webSocket, ByteBuffer message) {
+        lastReceivedNanos = System.nanoTime();
+        webSocket.request(1);
+        return null;
+    }
+    
+    @Override
+    public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+        partialMessage.setLength(0);
+        partialBinary.reset();
+        connectionLost(webSocket);
+        return null;
+    }
+    
+    @Override
+    public void onError(WebSocket webSocket, Throwable error) {
+        partialMessage.setLength(0);
+        partialBinary.reset();
+        connectionLost(webSocket);
+    }
+    
+    /**
+     * Hand an event envelope to every interested subscription and read the next
+     * message once all of them took it; acks and unknown message types are ignored
+     */
+    private CompletionStage<?> dispatch(WebSocket webSocket, String message) {
+        Event event = parseEvent(message);
+        List<CompletableFuture<Void>> blocked = null;
+        if (event != null) {
+            for (EventSubscription subscription : subscriptions) {
+                if (subscription.accepts(event.type)) {
+                    CompletableFuture<Void> wait = subscription.offer(event);
+                    if (wait != null) {
+                        if (blocked == null) {
+                            blocked = new ArrayList<>();
+                        }
+                        blocked.add(wait);
+                    }
+                }
+            }
+        }
+        if (blocked == null) {
+            webSocket.request(1);
+            return null;
+        }
+        // A full BLOCK subscription holds back the socket; TCP flow control then slows the server
+        blockedReads.incrementAndGet();
+        return CompletableFuture.allOf(blocked.toArray(new CompletableFuture<?>[0]))
+                .thenRun(() -> {
+                    // Restart the liveness clock, the pongs missed meanwhile were never read
+                    lastReceivedNanos = System.nanoTime();
+                    blockedReads.decrementAndGet();
+                    webSocket.request(1);
+                });
+    }
+    
+    private Event parseEvent(String message) {
+        try {
+            JsonNode envelope = objectMapper.readTree(message);
+            if (!"event".equals(envelope.path("type").asText()) || !envelope.hasNonNull("event")) {
+                return null;
+            }
+            Event event = objectMapper.treeToValue(envelope.get("event"), Event.class);
+            return event.type != null ? event : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.llmverifier.sdk;
+
+import com.llmverifier.sdk.LLMVerifierClient.Event;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * A listener registered for server events. Each subscription buffers events in its
+ * own ring buffer and delivers them one at a time on the client executor, so a slow
+ * listener only backs up its own queue. What happens when that queue is full is set
+ * by its {@link OverflowPolicy}. Closing the subscription stops delivery.
+ */
+public final class EventSubscription implements AutoCloseable {
+    // Events delivered per executor task before yielding the thread to other work
+    private static final int DRAIN_BATCH = 256;
+    
+    private final Set<EventType> eventTypes;
+    private final Consumer<Event> listener;
+    private final EventStream stream;
+    private final Executor executor;
+    private final OverflowPolicy overflowPolicy;
+    private final EventRingBuffer queue;
+    
+    // BLOCK policy: the event that did not fit, and the socket read waiting on it
+    private Event blockedEvent;
+    private CompletableFuture<Void> blockedRead;
+    
+    private long delivered;
+    private long dropped;
+    private long coalesced;
+    private long blocked;
+    private long listenerErrors;
+    private int maxLag;
+    private boolean draining;
+    private boolean closed;
+    
+    EventSubscription(Set<EventType> eventTypes, Consumer<Event> listener, EventStream stream,
+                      Executor executor, int capacity, OverflowPolicy overflowPolicy) {
+        this.eventTypes = Collections.unmodifiableSet(eventTypes);
+        this.listener = listener;
+        this.stream = stream;
+        this.executor = executor;
+        this.overflowPolicy = overflowPolicy;
+        this.queue = new EventRingBuffer(capacity, overflowPolicy == OverflowPolicy.COALESCE_BY_MODEL_ID);
+    }
+    
+    public Set<EventType> getEventTypes() {
+        return eventTypes;
+    }
+    
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+    
+    /**
+     * Whether the shared event socket is currently open
+     */
+    public boolean isConnected() {
+        return stream.isConnected();
+    }
+    
+    /**
+     * Times the shared event socket has been reconnected
+     */
+    public long getReconnects() {
+        return stream.getReconnects();
+    }
+    
+    /**
+     * Events received but not yet handed to the listener
+     */
+    public synchronized int getLag() {
+        return queue.size() + (blockedEvent != null ? 1 : 0);
+    }
+    
+    /**
+     * Highest lag seen so far
+     */
+    public synchronized int getMaxLag() {
+        return maxLag;
+    }
+    
+    public synchronized long getDeliveredEvents() {
+        return delivered;
+    }
+    
+    /**
+     * Events discarded by DROP_OLDEST, DROP_NEWEST or a coalescing queue with no room
+     */
+    public synchronized long getDroppedEvents() {
+        return dropped;
+    }
+    
+    /**
+     * Events superseded by a newer event for the same model
+     */
+    public synchronized long getCoalescedEvents() {
+        return coalesced;
+    }
+    
+    /**
+     * Times a full BLOCK queue held back the event socket
+     */
+    public synchronized long getBlockedReads() {
+        return blocked;
+    }
+    
+    public synchronized long getListenerErrors() {
+        return listenerErrors;
+    }
+    
+    @Override
+    public void close() {
+        CompletableFuture<Void> release;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queue.clear();
+            blockedEvent = null;
+            release = blockedRead;
+            blockedRead = null;
+        }
+        if (release != null) {
+            release.complete(null);
+        }
+        stream.unsubscribe(this);
+    }
+    
+    boolean accepts(EventType type) {
+        return eventTypes.contains(type);
+    }
+    
+    /**
+     * Queue an event without blocking the calling socket reader. Returns null when the
+     * event was taken (or dropped), or, under BLOCK with a full queue, a future that
+     * completes once there is room again; the reader must not read on until then.
+     */
+    CompletableFuture<Void> offer(Event event) {
+        CompletableFuture<Void> wait = null;
+        synchronized (this) {
+            if (closed) {
+                return null;
+            }
+            if (!queue.isFull()) {
+                if (overflowPolicy == OverflowPolicy.COALESCE_BY_MODEL_ID && queue.replaceSameModel(event)) {
+                    coalesced++;
+                } else {
+                    queue.add(event);
+                }
+            } else {
+                switch (overflowPolicy) {
+                    case BLOCK:
+                        blocked++;
+                        blockedEvent = event;
+                        blockedRead = new CompletableFuture<>();
+                        wait = blockedRead;
+                        break;
+                    case DROP_NEWEST:
+                        dropped++;
+                        break;
+                    case COALESCE_BY_MODEL_ID:
+                        if (queue.replaceSameModel(event)) {
+                            coalesced++;
+                            break;
+                        }
+                        queue.poll();
+                        queue.add(event);
+                        dropped++;
+                        break;
+                    default:
+                        queue.poll();
+                        queue.add(event);
+                        dropped++;
+                        break;
+                }
+            }
+            maxLag = Math.max(maxLag, getLag());
+            if (draining) {
+                return wait;
+            }
+            draining = true;
+        }
+        scheduleDrain();
+        return wait;
+    }
+    
+    private void scheduleDrain() {
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            // Client executor is shut down; nothing will deliver these events
+            close();
+        }
+    }
+    
+    private void drain() {
+        for (int i = 0; i < DRAIN_BATCH; i++) {
+            Event event;
+            CompletableFuture<Void> release = null;
+            synchronized (this) {
+                event = closed ? null : queue.poll();
+                if (event == null) {
+                    draining = false;
+                    return;
+                }
+                if (blockedEvent != null) {
+                    queue.add(blockedEvent);
+                    blockedEvent = null;
+                    release = blockedRead;
+                    blockedRead = null;
+                }
+            }
+            if (release != null) {
+                release.complete(null);
+            }
+            try {
+                listener.accept(event);
+                synchronized (this) {
+                    delivered++;
+                }
+            } catch (RuntimeException e) {
+                // A failing listener must not stop delivery of later events
+                synchronized (this) {
+                    listenerErrors++;
+                }
+            } catch (Error e) {
+                // Not ours to swallow, but draining is still set: hand it to a fresh task first,
+                // or the subscription (and under BLOCK the shared socket) stalls for good
+                synchronized (this) {
+                    listenerErrors++;
+                }
+                scheduleDrain();
+                throw e;
+            }
+        }
+        // Still busy after a full batch: requeue so one hot subscription cannot hold a thread
+        scheduleDrain();
+    }
+}
@@ -0,0 +1,55 @@
+package com.llmverifier.sdk;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * Event types published by the server's /ws event stream
+ */
+public enum EventType {
+    VERIFICATION_STARTED("verification_started"),
+    VERIFICATION_COMPLETED("verification_completed"),
+    VERIFICATION_FAILED("verification_failed"),
+    SCORE_CHANGED("score_changed"),
+    MODEL_ADDED("model_added"),
+    MODEL_REMOVED("model_removed"),
+    PROVIDER_ADDED("provider_added"),
+    PROVIDER_REMOVED("provider_removed"),
+    ISSUE_DETECTED("issue_detected"),
+    ISSUE_RESOLVED("issue_resolved"),
+    CONFIG_EXPORTED("config_exported"),
+    DATABASE_MIGRATION("database_migration"),
+    CLIENT_CONNECTED("client_connected"),
+    CLIENT_DISCONNECTED("client_disconnected"),
+    SYSTEM_HEALTH_CHANGED("system_health_changed"),
+    MAINTENANCE_MODE("maintenance_mode"),
+    BACKUP_COMPLETED("backup_completed"),
+    SECURITY_ALERT("security_alert");
+    
+    private final String value;
+    
+    EventType(String value) {
+        this.value = value;
+    }
+    
+    /**
+     * Name used on the wire
+     */
+    @JsonValue
+    public String getValue() {
+        return value;
+    }
+    
+    /**
+     * Type for a wire name, or null for types this SDK does not know yet
+     */
+    @JsonCreator
+    public static EventType fromValue(String value) {
+        for (EventType type : values()) {
+            if (type.value.equals(value)) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,150 @@
+package com.llmverifier.sdk;
+
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.Flow;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Request body publisher that gzips its payload on the fly.
+ * Compressed chunks are produced only as the HTTP client asks for them, so the
+ * whole compressed body never exists at once. Each subscription (e.g. a retry)
+ * compresses from the start with its own Deflater.
+ */
+final class GzipBodyPublisher implements HttpRequest.BodyPublisher {
+    private static final int CHUNK_SIZE = 16 * 1024;
+    private static final int INPUT_SLICE = 64 * 1024;
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    
+    private final byte[] source;
+    
+    GzipBodyPublisher(byte[] source) {
+        this.source = source;
+    }
+    
+    @Override
+    public long contentLength() {
+        // Unknown until compressed: the body is sent chunked
+        return -1;
+    }
+    
+    @Override
+    public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+        GzipSubscription subscription = new GzipSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+    
+    private final class GzipSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super ByteBuffer> subscriber;
+        private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        private final CRC32 crc = new CRC32();
+        private int inputOffset;
+        private boolean headerSent;
+        private boolean trailerSent;
+        private boolean done;
+        private long demand;
+        private boolean emitting;
+        private boolean missed;
+        
+        GzipSubscription(Flow.Subscriber<? super ByteBuffer> subscriber) {
+            this.subscriber = subscriber;
+        }
+        
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                subscriber.onError(new IllegalArgumentException("Subscription request must be positive, got " + n));
+                return;
+            }
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                if (emitting) {
+                    missed = true;
+                    return;
+                }
+                emitting = true;
+            }
+            emit();
+        }
+        
+        @Override
+        public synchronized void cancel() {
+            if (!done) {
+                done = true;
+                deflater.end();
+            }
+        }
+        
+        /**
+         * Serialized emission loop; re-entrant request() calls only mark it as missed
+         */
+        private void emit() {
+            while (true) {
+                ByteBuffer chunk;
+                boolean complete = false;
+                synchronized (this) {
+                    if (done || demand == 0) {
+                        if (!missed || done) {
+                            emitting = false;
+                            return;
+                        }
+                        missed = false;
+                        continue;
+                    }
+                    chunk = nextChunk();
+                    if (chunk == null) {
+                        continue;
+                    }
+                    demand--;
+                    if (trailerSent) {
+                        done = true;
+                        complete = true;
+                        deflater.end();
+                    }
+                }
+                subscriber.onNext(chunk);
+                if (complete) {
+                    subscriber.onComplete();
+                }
+            }
+        }
+        
+        /**
+         * Next piece of the gzip stream: header, a deflated block, or the trailer.
+         * Returns null when the deflater consumed input without producing output yet.
+         */
+        private ByteBuffer nextChunk() {
+            if (!headerSent) {
+                headerSent = true;
+                return ByteBuffer.wrap(GZIP_HEADER.clone());
+            }
+            if (!deflater.finished()) {
+                if (deflater.needsInput()) {
+                    if (inputOffset < source.length) {
+                        int length = Math.min(INPUT_SLICE, source.length - inputOffset);
+                        deflater.setInput(source, inputOffset, length);
+                        crc.update(source, inputOffset, length);
+                        inputOffset += length;
+                    } else {
+                        deflater.finish();
+                    }
+                }
+                byte[] out = new byte[CHUNK_SIZE];
+                int written = deflater.deflate(out);
+                return written > 0 ? ByteBuffer.wrap(out, 0, written) : null;
+            }
+            ByteBuffer trailer = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+            trailer.putInt((int) crc.getValue());
+            trailer.putInt(source.length);
+            trailer.flip();
+            trailerSent = true;
+            return trailer;
+        }
+    }
+}
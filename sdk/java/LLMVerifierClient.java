@@ -2,8 +2,24 @@ package com.llmverifier.sdk;
 
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.http.*;
 import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.*;
 import com.fasterxml.jackson.annotation.*;
 
@@ -14,35 +30,212 @@ import com.fasterxml.jackson.annotation.*;
 public class LLMVerifierClient {
     private final String baseUrl;
     private final String apiKey;
-    private final HttpClient httpClient;
-    private final ObjectMapper objectMapper;
+    private final Transport transport;
+    private final PayloadCodec jsonCodec;
+    private final PayloadCodec binaryCodec;
+    private volatile boolean binaryRequests;
+    private volatile boolean binaryRequestsRejected;
+    private final TransferStats transferStats = new TransferStats();
     private final ExecutorService executor;
+    private final int timeout;
+    private final Map<EndpointGroup, RetryPolicy> retryPolicies;
+    private final RetryBudget retryBudget;
+    private final Map<EndpointGroup, CircuitBreaker> circuitBreakers;
+    private final double hedgePercentile;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final boolean coalesceReads;
+    private final Map<String, CompletableFuture<?>> inFlightReads = new ConcurrentHashMap<>();
+    private final VerifyBatcher verifyBatcher;
+    private final int batchChunkSize;
+    private final int batchParallelism;
+    private final boolean responseCompression;
+    private final int requestCompressionThreshold;
+    private final Map<String, LatencyTracker> latencyTrackers = new ConcurrentHashMap<>();
+    private final EventStream eventStream;
+    private final ResponseCache responseCache;
+    private final ConditionalGetCache conditionalGets;
+    private final Path catalogSnapshotFile;
+    // Catalog loaded from the snapshot file, served until the server has been asked once
+    private volatile List<Model> snapshotModels;
+    private volatile List<Model> savedModels;
+    private final AtomicBoolean reconcilingCatalog = new AtomicBoolean();
+    // Exchanges whose callers are still waiting; close() lets them finish before stopping the executor
+    private final Set<CompletableFuture<?>> inFlightExchanges = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
     
     private static final String DEFAULT_BASE_URL = "https://api.llmverifier.com";
     private static final int DEFAULT_TIMEOUT = 30;
     private static final int DEFAULT_MAX_RETRIES = 3;
+    private static final int MAX_ERROR_BODY_BYTES = 8192;
+    private static final int MAX_CONDITIONAL_ENTRIES = 1024;
+    private static final long CLOSE_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(5);
     
     public LLMVerifierClient(String apiKey) {
         this(DEFAULT_BASE_URL, apiKey);
     }
     
     public LLMVerifierClient(String baseUrl, String apiKey) {
-        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
-        this.apiKey = apiKey;
-        this.httpClient = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(DEFAULT_TIMEOUT))
-                .build();
-        this.objectMapper = new ObjectMapper()
+        this(new Builder().baseUrl(baseUrl).apiKey(apiKey));
+    }
+    
+    private LLMVerifierClient(Builder builder) {
+        this.baseUrl = builder.baseUrl.endsWith("/")
+                ? builder.baseUrl.substring(0, builder.baseUrl.length() - 1)
+                : builder.baseUrl;
+        this.apiKey = builder.apiKey;
+        this.timeout = builder.timeout;
+        this.retryPolicies = new EnumMap<>(EndpointGroup.class);
+        RetryPolicy defaultPolicy = builder.retryPolicy != null
+                ? builder.retryPolicy
+                : RetryPolicy.withMaxAttempts(builder.maxRetries);
+        for (EndpointGroup group : EndpointGroup.values()) {
+            retryPolicies.put(group, builder.groupRetryPolicies.getOrDefault(group, defaultPolicy));
+        }
+        this.retryBudget = builder.retryBudget;
+        this.circuitBreakers = new EnumMap<>(EndpointGroup.class);
+        for (EndpointGroup group : EndpointGroup.values()) {
+            CircuitBreaker breaker = new CircuitBreaker(
+                    group, builder.circuitFailureThreshold, builder.circuitOpenDuration);
+            builder.circuitListeners.forEach(breaker::addListener);
+            circuitBreakers.put(group, breaker);
+        }
+        this.hedgePercentile = builder.hedgePercentile;
+        this.concurrencyLimiter = builder.concurrencyLimiter;
+        this.coalesceReads = builder.coalesceReads;
+        this.batchChunkSize = builder.batchChunkSize;
+        this.batchParallelism = builder.batchParallelism;
+        this.responseCompression = builder.responseCompression;
+        this.requestCompressionThreshold = builder.requestCompressionThreshold;
+        this.jsonCodec = new PayloadCodec(WireFormat.JSON, newObjectMapper(WireFormat.JSON));
+        this.binaryCodec = builder.wireFormat.isBinary()
+                ? new PayloadCodec(builder.wireFormat, newObjectMapper(builder.wireFormat))
+                : null;
+        this.executor = builder.virtualThreads ? newVirtualThreadExecutor() : Executors.newCachedThreadPool();
+        // Response callbacks run on our executor; in-flight exchanges hold no thread
+        this.transport = builder.transport != null
+                ? builder.transport
+                : Transport.http(Duration.ofSeconds(timeout), executor);
+        this.eventStream = new EventStream(eventsUri(builder), apiKey, jsonCodec.getObjectMapper(),
+                builder.eventReconnectPolicy, builder.eventHeartbeat, builder.eventQueueCapacity,
+                builder.eventOverflowPolicy, executor, Duration.ofSeconds(timeout));
+        this.conditionalGets = builder.conditionalRequests ? new ConditionalGetCache(MAX_CONDITIONAL_ENTRIES) : null;
+        this.responseCache = builder.eventDrivenCache || builder.cacheTtl != null
+                ? new ResponseCache(builder.cacheMaxEntries,
+                        builder.cacheTtl != null ? builder.cacheTtl.toNanos() : 0,
+                        builder.cacheStaleWhileRevalidate.toNanos(),
+                        builder.eventDrivenCache ? eventStream : null)
+                : null;
+        this.verifyBatcher = builder.verifyBatchSize > 1
+                ? new VerifyBatcher(builder.verifyBatchSize, builder.verifyBatchLinger.toNanos(), this::batchVerify, executor)
+                : null;
+        this.catalogSnapshotFile = builder.catalogSnapshotFile;
+        if (catalogSnapshotFile != null) {
+            loadCatalogSnapshot();
+        }
+    }
+    
+    /**
+     * Serve the catalog from the snapshot file right away and refresh it in the background.
+     * A missing or unreadable snapshot just means the first getModels goes to the server.
+     */
+    private void loadCatalogSnapshot() {
+        try {
+            snapshotModels = CatalogSnapshot.read(catalogSnapshotFile);
+        } catch (IOException e) {
+            return;
+        }
+        reconcileCatalog();
+    }
+    
+    private void reconcileCatalog() {
+        if (!reconcilingCatalog.compareAndSet(false, true)) {
+            return;
+        }
+        fetchModels().whenComplete((models, error) -> {
+            if (error == null) {
+                snapshotModels = null;
+            }
+            // A failed reconcile is retried by the next getModels call
+            reconcilingCatalog.set(false);
+        });
+    }
+    
+    private void saveCatalogSnapshot(List<Model> models) {
+        if (models == null || models == savedModels) {
+            return;
+        }
+        try {
+            CatalogSnapshot.write(catalogSnapshotFile, models);
+            savedModels = models;
+        } catch (IOException e) {
+            // The snapshot only speeds up the next start; the live catalog is unaffected
+        }
+    }
+    
+    /**
+     * The event socket defaults to /ws on the API host, with ws(s) in place of http(s)
+     */
+    private URI eventsUri(Builder builder) {
+        if (builder.eventsUrl != null) {
+            return URI.create(builder.eventsUrl);
+        }
+        return URI.create(baseUrl.replaceFirst("^http", "ws") + "/ws");
+    }
+    
+    private static ObjectMapper newObjectMapper(WireFormat format) {
+        return new ObjectMapper(format.newFactory())
                 .setSerializationInclusion(JsonInclude.Include.NON_NULL)
                 .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-        this.executor = Executors.newCachedThreadPool();
     }
     
     /**
-     * Get all available models with their scores
+     * Virtual threads are looked up reflectively so the SDK still runs on JDK 11+
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads require JDK 21 or newer", e);
+        }
+    }
+    
+    /**
+     * Get all available models with their scores.
+     * List results of the read methods may be shared with other callers (caches,
+     * 304 responses, coalesced reads) and are read-only.
      */
     public CompletableFuture<List<Model>> getModels() {
-        return makeRequest("GET", "/api/models", null, ModelListResponse.class)
+        List<Model> snapshot = snapshotModels;
+        if (snapshot != null) {
+            reconcileCatalog();
+            return CompletableFuture.completedFuture(readOnly(snapshot));
+        }
+        return fetchModels().thenApply(LLMVerifierClient::readOnly);
+    }
+    
+    private CompletableFuture<List<Model>> fetchModels() {
+        CompletableFuture<List<Model>> models = makeCachedRequest("/api/models", null,
+                path -> makeHedgedRequest("getModels", path, ModelListResponse.class))
+                .thenApply(response -> response.models);
+        if (catalogSnapshotFile != null) {
+            models.thenAcceptAsync(this::saveCatalogSnapshot, executor);
+        }
+        return models;
+    }
+    
+    /**
+     * Create a local catalog replica kept current by delta sync; call
+     * {@link CatalogReplica#sync()} or {@link CatalogReplica#start(Duration)} to fill it
+     */
+    public CatalogReplica newCatalogReplica() {
+        return new CatalogReplica(this::getModelsUpdatedSince, executor);
+    }
+    
+    private CompletableFuture<List<Model>> getModelsUpdatedSince(Date since) {
+        String path = since == null
+                ? "/api/models"
+                : "/api/models?updated_since=" + URLEncoder.encode(since.toInstant().toString(), StandardCharsets.UTF_8);
+        return makeRequest("GET", path, null, ModelListResponse.class)
                 .thenApply(response -> response.models);
     }
     
@@ -50,7 +243,8 @@ public class LLMVerifierClient {
      * Get a specific model by ID
      */
     public CompletableFuture<Model> getModel(String modelId) {
-        return makeRequest("GET", "/api/models/" + modelId, null, ModelResponse.class)
+        return makeCachedRequest("/api/models/" + modelId, modelId,
+                path -> makeHedgedRequest("getModel", path, ModelResponse.class))
                 .thenApply(response -> response.model);
     }
     
@@ -59,29 +253,146 @@ public class LLMVerifierClient {
      */
     public CompletableFuture<List<Model>> getModelsByScore(double minScore, double maxScore, int limit) {
         String query = String.format("?min_score=%.2f&max_score=%.2f&limit=%d", minScore, maxScore, limit);
-        return makeRequest("GET", "/api/models/score-range" + query, null, ModelListResponse.class)
-                .thenApply(response -> response.models);
+        return makeCachedRequest("/api/models/score-range" + query, null,
+                path -> makeRequest("GET", path, null, ModelListResponse.class))
+                .thenApply(response -> readOnly(response.models));
+    }
+    
+    /**
+     * Stream the model catalog: models are parsed one at a time from the response
+     * body instead of binding the whole catalog at once. The iterator must be
+     * closed to release the connection if it is not read to the end.
+     */
+    public CompletableFuture<ModelIterator> streamModels() {
+        return execute("GET", "/api/models", null,
+                streamReader((body, codec) -> new ModelIterator(
+                        codec.getObjectMapper(), codec.getObjectMapper().getFactory().createParser(body))));
+    }
+    
+    /**
+     * Pass every catalog model to the consumer as it is parsed.
+     * The returned future completes with the number of models seen.
+     */
+    public CompletableFuture<Long> forEachModel(Consumer<Model> consumer) {
+        return streamModels().thenApplyAsync(models -> {
+            long count = 0;
+            try (ModelIterator iterator = models) {
+                while (iterator.hasNext()) {
+                    consumer.accept(iterator.next());
+                    count++;
+                }
+            }
+            return count;
+        }, executor);
     }
     
     /**
      * Verify a model with a prompt
      */
     public CompletableFuture<VerificationResult> verifyModel(String modelId, String prompt) {
+        if (verifyBatcher != null) {
+            return verifyBatcher.submit(modelId, prompt);
+        }
         VerificationRequest request = new VerificationRequest(modelId, prompt);
         return makeRequest("POST", "/api/verify", request, VerificationResponse.class)
                 .thenApply(response -> response.result);
     }
     
     /**
-     * Batch verify multiple models
+     * Batch verify multiple models.
+     * Large batches are split into chunks sent in parallel (see Builder#batchChunking);
+     * each chunk is retried on its own and results are returned in input order.
      */
     public CompletableFuture<List<VerificationResult>> batchVerify(List<BatchVerificationRequest> requests) {
+        if (requests.size() <= batchChunkSize) {
+            return sendBatch(requests);
+        }
+        int chunkCount = (requests.size() + batchChunkSize - 1) / batchChunkSize;
+        VerificationResult[] merged = new VerificationResult[requests.size()];
+        AtomicInteger nextChunk = new AtomicInteger();
+        CompletableFuture<?>[] workers = new CompletableFuture<?>[Math.min(batchParallelism, chunkCount)];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = sendChunks(requests, merged, nextChunk, chunkCount);
+        }
+        return CompletableFuture.allOf(workers).thenApply(ignored -> Arrays.asList(merged));
+    }
+    
+    /**
+     * Worker loop: claim the next unsent chunk until none are left or one has failed
+     */
+    private CompletableFuture<Void> sendChunks(List<BatchVerificationRequest> requests, VerificationResult[] merged,
+                                               AtomicInteger nextChunk, int chunkCount) {
+        int chunk = nextChunk.getAndIncrement();
+        if (chunk >= chunkCount) {
+            return CompletableFuture.completedFuture(null);
+        }
+        int from = chunk * batchChunkSize;
+        int to = Math.min(from + batchChunkSize, requests.size());
+        return sendBatch(requests.subList(from, to))
+                .thenCompose(results -> {
+                    if (results == null || results.size() != to - from) {
+                        throw new LLMVerifierException("Batch chunk " + chunk + " returned "
+                                + (results == null ? 0 : results.size()) + " results for " + (to - from) + " requests");
+                    }
+                    for (int i = 0; i < results.size(); i++) {
+                        merged[from + i] = results.get(i);
+                    }
+                    return sendChunks(requests, merged, nextChunk, chunkCount);
+                })
+                .whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        // Stop the other workers from claiming further chunks
+                        nextChunk.set(chunkCount);
+                    }
+                });
+    }
+    
+    /**
+     * Stream batch verification results as they become available.
+     * Results are published in input order, one sub-batch at a time, and
+     * sub-batches are only fetched while the subscriber has outstanding demand.
+     */
+    public Flow.Publisher<VerificationResult> streamBatchVerify(List<BatchVerificationRequest> requests) {
+        return streamBatchVerify(requests, batchChunkSize);
+    }
+    
+    /**
+     * Stream batch verification results using sub-batches of chunkSize requests
+     */
+    public Flow.Publisher<VerificationResult> streamBatchVerify(List<BatchVerificationRequest> requests, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        return new BatchVerificationPublisher(requests, chunkSize, batchParallelism, this::sendBatch);
+    }
+    
+    private CompletableFuture<List<VerificationResult>> sendBatch(List<BatchVerificationRequest> requests) {
         return makeRequest("POST", "/api/verify/batch", requests, BatchVerificationResponse.class)
                 .thenApply(response -> response.results);
     }
     
     /**
-     * Calculate model score
+     * Receive server events of the given types (all types when empty) as they happen.
+     * All subscriptions share one WebSocket, which reconnects on its own; each
+     * listener is fed from its own bounded queue on the client executor, using the
+     * client's default overflow policy.
+     */
+    public EventSubscription subscribe(Set<EventType> eventTypes, Consumer<Event> listener) {
+        return subscribe(eventTypes, listener, null);
+    }
+    
+    /**
+     * Receive server events, handling a full listener queue with the given policy
+     */
+    public EventSubscription subscribe(Set<EventType> eventTypes, Consumer<Event> listener,
+                                       OverflowPolicy overflowPolicy) {
+        Objects.requireNonNull(listener, "listener");
+        return eventStream.subscribe(eventTypes, listener, overflowPolicy);
+    }
+    
+    /**
+     * Calculate model score. To reweight components already on hand, use
+     * {@link ScoreCalculator#calculate} instead of a round trip.
      */
     public CompletableFuture<ModelScore> calculateScore(String modelId, ScoreWeights weights) {
         CalculateScoreRequest request = new CalculateScoreRequest(modelId, weights);
@@ -94,8 +405,9 @@ public class LLMVerifierClient {
      */
     public CompletableFuture<List<ModelScore>> getScoreHistory(String modelId, int limit) {
         String query = String.format("?model_id=%s&limit=%d", modelId, limit);
-        return makeRequest("GET", "/api/scoring/history" + query, null, ScoreHistoryResponse.class)
-                .thenApply(response -> response.scores);
+        return makeCoalescedRequest("/api/scoring/history" + query,
+                path -> makeHedgedRequest("getScoreHistory", path, ScoreHistoryResponse.class))
+                .thenApply(response -> readOnly(response.scores));
     }
     
     /**
@@ -103,8 +415,9 @@ public class LLMVerifierClient {
      */
     public CompletableFuture<List<ModelRanking>> getRankings(String category, int limit) {
         String query = String.format("?category=%s&limit=%d", category, limit);
-        return makeRequest("GET", "/api/scoring/rankings" + query, null, RankingsResponse.class)
-                .thenApply(response -> response.rankings);
+        return makeCachedRequest("/api/scoring/rankings" + query, null,
+                path -> makeHedgedRequest("getRankings", path, RankingsResponse.class))
+                .thenApply(response -> readOnly(response.rankings));
     }
     
     /**
@@ -129,8 +442,9 @@ public class LLMVerifierClient {
      * Enterprise: Get user roles
      */
     public CompletableFuture<List<String>> getUserRoles(String userId) {
-        return makeRequest("GET", "/api/enterprise/users/" + userId + "/roles", null, UserRolesResponse.class)
-                .thenApply(response -> response.roles);
+        return makeCoalescedRequest("/api/enterprise/users/" + userId + "/roles",
+                path -> makeRequest("GET", path, null, UserRolesResponse.class))
+                .thenApply(response -> readOnly(response.roles));
     }
     
     /**
@@ -142,69 +456,565 @@ public class LLMVerifierClient {
                 .thenApply(response -> response.hasPermission);
     }
     
+    // Synchronous API
+    // Each method blocks the calling thread until the matching async call completes.
+    // Intended for virtual threads (see Builder#virtualThreads), where blocking is cheap.
+    
+    public List<Model> getModelsSync() {
+        return await(getModels());
+    }
+    
+    public Model getModelSync(String modelId) {
+        return await(getModel(modelId));
+    }
+    
+    public List<Model> getModelsByScoreSync(double minScore, double maxScore, int limit) {
+        return await(getModelsByScore(minScore, maxScore, limit));
+    }
+    
+    public VerificationResult verifyModelSync(String modelId, String prompt) {
+        return await(verifyModel(modelId, prompt));
+    }
+    
+    public List<VerificationResult> batchVerifySync(List<BatchVerificationRequest> requests) {
+        return await(batchVerify(requests));
+    }
+    
+    public ModelScore calculateScoreSync(String modelId, ScoreWeights weights) {
+        return await(calculateScore(modelId, weights));
+    }
+    
+    public List<ModelScore> getScoreHistorySync(String modelId, int limit) {
+        return await(getScoreHistory(modelId, limit));
+    }
+    
+    public List<ModelRanking> getRankingsSync(String category, int limit) {
+        return await(getRankings(category, limit));
+    }
+    
+    public AuthResult ldapAuthSync(String username, String password) {
+        return await(ldapAuth(username, password));
+    }
+    
+    public AuthResult ssoAuthSync(String provider, String token) {
+        return await(ssoAuth(provider, token));
+    }
+    
+    public List<String> getUserRolesSync(String userId) {
+        return await(getUserRoles(userId));
+    }
+    
+    public boolean checkPermissionSync(String userId, String permission) {
+        return await(checkPermission(userId, permission));
+    }
+    
     /**
-     * Make HTTP request with retry logic
+     * Wait for a request and surface its failure as an LLMVerifierException
+     */
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new LLMVerifierException("Request interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof LLMVerifierException) {
+                throw (LLMVerifierException) cause;
+            }
+            throw new LLMVerifierException("Request failed", cause);
+        }
+    }
+    
+    /**
+     * Make HTTP request with retry logic.
+     * The whole exchange is a non-blocking future pipeline: no thread is held
+     * while a request is in flight or waiting for its next retry.
      */
     private <T> CompletableFuture<T> makeRequest(String method, String path, Object body, Class<T> responseType) {
-        return CompletableFuture.supplyAsync(() -> {
-            int retries = 0;
-            Exception lastException = null;
+        if (conditionalGets != null && "GET".equals(method)) {
+            ConditionalGetCache.Validated known = conditionalGets.get(path);
+            return execute(method, path, body, known, conditionalReader(path, known, jsonReader(responseType)));
+        }
+        return execute(method, path, body, jsonReader(responseType));
+    }
+    
+    private <B, T> CompletableFuture<T> execute(String method, String path, Object body, ResponseReader<B, T> reader) {
+        return execute(method, path, body, null, reader);
+    }
+    
+    /**
+     * @param known previous response whose validators make this a conditional GET, or null
+     */
+    private <B, T> CompletableFuture<T> execute(String method, String path, Object body,
+                                                ConditionalGetCache.Validated known, ResponseReader<B, T> reader) {
+        RequestFactory requestFactory = () -> buildRequest(method, path, body, known);
+        HttpRequest request;
+        try {
+            request = requestFactory.build();
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(new LLMVerifierException("Failed to build request for " + path, e));
+        }
+        if (closed) {
+            return CompletableFuture.failedFuture(new LLMVerifierException("Client is closed"));
+        }
+        CompletableFuture<T> result = new Exchange<>(request, requestFactory, reader, EndpointGroup.forPath(path)).send();
+        inFlightExchanges.add(result);
+        result.whenComplete((ignored, error) -> inFlightExchanges.remove(result));
+        if (closed) {
+            // close() may already have failed what it found in flight
+            result.completeExceptionally(new LLMVerifierException("Client is closed"));
+        }
+        return result;
+    }
+    
+    @FunctionalInterface
+    private interface RequestFactory {
+        HttpRequest build() throws IOException;
+    }
+    
+    private HttpRequest buildRequest(String method, String path, Object body, ConditionalGetCache.Validated known)
+            throws JsonProcessingException {
+        // Bodies switch to the binary format only once the server has answered in it
+        PayloadCodec bodyCodec = binaryCodec != null && binaryRequests && !binaryRequestsRejected
+                ? binaryCodec
+                : jsonCodec;
+        HttpRequest.Builder requestBuilder = HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(timeout))
+                .header("Authorization", "Bearer " + apiKey)
+                .header("Content-Type", bodyCodec.getFormat().getMediaType())
+                .header("Accept", binaryCodec != null
+                        ? binaryCodec.getFormat().getMediaType() + ", application/json;q=0.5"
+                        : "application/json");
+        if (responseCompression) {
+            requestBuilder.header("Accept-Encoding", ContentDecoding.ACCEPT_ENCODING);
+        }
+        if (known != null) {
+            known.addValidators(requestBuilder);
+        }
+        
+        if (body != null) {
+            byte[] encodedBody = bodyCodec.encode(body);
+            transferStats.recordRequest(encodedBody.length);
+            if (requestCompressionThreshold >= 0 && encodedBody.length >= requestCompressionThreshold) {
+                requestBuilder.header("Content-Encoding", "gzip")
+                        .method(method, new GzipBodyPublisher(encodedBody));
+            } else {
+                requestBuilder.method(method, HttpRequest.BodyPublishers.ofByteArray(encodedBody));
+            }
+        } else {
+            requestBuilder.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+        return requestBuilder.build();
+    }
+    
+    /**
+     * Coalesced GET answered from the response cache when one is configured.
+     * modelId names the single model the response describes, null for lists.
+     */
+    private <T> CompletableFuture<T> makeCachedRequest(String path, String modelId,
+                                                      Function<String, CompletableFuture<T>> request) {
+        if (responseCache == null) {
+            return makeCoalescedRequest(path, request);
+        }
+        return responseCache.get(path, modelId, () -> makeCoalescedRequest(path, request));
+    }
+    
+    /**
+     * Single-flight GET: while a request for a path is in flight, identical calls join
+     * it instead of sending their own. The deserialized response is shared by all of
+     * them, so callers must chain their own stage and treat the DTOs as read-only.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> makeCoalescedRequest(String path, Function<String, CompletableFuture<T>> request) {
+        if (!coalesceReads) {
+            return request.apply(path);
+        }
+        CompletableFuture<T> shared = new CompletableFuture<>();
+        CompletableFuture<T> inFlight = (CompletableFuture<T>) inFlightReads.putIfAbsent(path, shared);
+        if (inFlight != null) {
+            return inFlight;
+        }
+        request.apply(path).whenComplete((value, error) -> {
+            // Later callers start a fresh request rather than receive a completed one
+            inFlightReads.remove(path, shared);
+            if (error != null) {
+                shared.completeExceptionally(unwrap(error));
+            } else {
+                shared.complete(value);
+            }
+        });
+        return shared;
+    }
+    
+    /**
+     * Idempotent GET that sends a second, speculative request when the first one is
+     * slower than the configured percentile of this operation's recent latencies,
+     * and completes with whichever response arrives first
+     */
+    private <T> CompletableFuture<T> makeHedgedRequest(String operation, String path, Class<T> responseType) {
+        if (hedgePercentile <= 0) {
+            return makeRequest("GET", path, null, responseType);
+        }
+        LatencyTracker tracker = latencyTrackers.computeIfAbsent(operation, key -> new LatencyTracker(hedgePercentile));
+        long hedgeDelayNanos = tracker.percentileNanos();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(1);
+        sendHedge(path, responseType, tracker, result, pending);
+        if (hedgeDelayNanos >= 0) {
+            Schedulers.delay(hedgeDelayNanos, TimeUnit.NANOSECONDS, executor).thenRun(() -> {
+                if (!result.isDone()) {
+                    pending.incrementAndGet();
+                    sendHedge(path, responseType, tracker, result, pending);
+                }
+            });
+        }
+        return result;
+    }
+    
+    private <T> void sendHedge(String path, Class<T> responseType, LatencyTracker tracker,
+                               CompletableFuture<T> result, AtomicInteger pending) {
+        long start = System.nanoTime();
+        makeRequest("GET", path, null, responseType).whenComplete((value, error) -> {
+            if (error == null) {
+                // Losing responses are recorded too so the window reflects true server latency
+                tracker.record(System.nanoTime() - start);
+                result.complete(value);
+            } else if (pending.decrementAndGet() == 0) {
+                result.completeExceptionally(unwrap(error));
+            }
+        });
+    }
+    
+    /**
+     * How an exchange receives and decodes its response body
+     */
+    private interface ResponseReader<B, T> {
+        HttpResponse.BodyHandler<B> bodyHandler();
+        
+        T read(HttpResponse<B> response) throws IOException;
+        
+        /**
+         * Body text for error messages; must release the body
+         */
+        String describe(HttpResponse<B> response);
+    }
+    
+    /**
+     * Answers 304 Not Modified with the response already deserialized for this path,
+     * and remembers the validators of full responses for the next call
+     */
+    private <B, T> ResponseReader<B, T> conditionalReader(String path, ConditionalGetCache.Validated known,
+                                                          ResponseReader<B, T> reader) {
+        return new ResponseReader<>() {
+            public HttpResponse.BodyHandler<B> bodyHandler() {
+                return reader.bodyHandler();
+            }
             
-            while (retries < DEFAULT_MAX_RETRIES) {
-                try {
-                    HttpRequest.Builder requestBuilder = HttpRequest.newBuilder()
-                            .uri(URI.create(baseUrl + path))
-                            .timeout(Duration.ofSeconds(DEFAULT_TIMEOUT))
-                            .header("Authorization", "Bearer " + apiKey)
-                            .header("Content-Type", "application/json")
-                            .header("Accept", "application/json");
-                    
-                    if (body != null) {
-                        String jsonBody = objectMapper.writeValueAsString(body);
-                        requestBuilder.method(method, HttpRequest.BodyPublishers.ofString(jsonBody));
-                    } else {
-                        requestBuilder.method(method, HttpRequest.BodyPublishers.noBody());
+            @SuppressWarnings("unchecked")
+            public T read(HttpResponse<B> response) throws IOException {
+                if (response.statusCode() == 304) {
+                    if (known == null) {
+                        throw new IOException("304 Not Modified for an unconditional request");
                     }
-                    
-                    HttpResponse<String> response = httpClient.send(
-                            requestBuilder.build(), 
-                            HttpResponse.BodyHandlers.ofString()
-                    );
-                    
-                    if (response.statusCode() >= 200 && response.statusCode() < 300) {
-                        return objectMapper.readValue(response.body(), responseType);
-                    } else if (response.statusCode() >= 500) {
-                        // Retry on server errors
-                        retries++;
-                        Thread.sleep(1000 * retries); // Exponential backoff
-                        continue;
-                    } else {
-                        throw new LLMVerifierException(
-                                "API request failed: " + response.statusCode() + " - " + response.body()
+                    return (T) known.value;
+                }
+                T value = reader.read(response);
+                conditionalGets.store(path, response.headers(), value);
+                return value;
+            }
+            
+            public String describe(HttpResponse<B> response) {
+                return reader.describe(response);
+            }
+        };
+    }
+    
+    private <T> ResponseReader<List<ByteBuffer>, T> jsonReader(Class<T> responseType) {
+        return new ResponseReader<>() {
+            public HttpResponse.BodyHandler<List<ByteBuffer>> bodyHandler() {
+                return ByteBufferInputStream.bodyHandler();
+            }
+            
+            public T read(HttpResponse<List<ByteBuffer>> response) throws IOException {
+                long wireBytes = ByteBufferInputStream.size(response.body());
+                // Decompression streams into the parser; the decoded body is never buffered
+                ContentDecoding.CountingInputStream decoded = new ContentDecoding.CountingInputStream(
+                        ContentDecoding.decode(new ByteBufferInputStream(response.body()), response.headers()));
+                T value = codecFor(response.headers()).decode(decoded, responseType);
+                transferStats.recordResponse(wireBytes, decoded.getCount());
+                return value;
+            }
+            
+            public String describe(HttpResponse<List<ByteBuffer>> response) {
+                if (response.headers().firstValue("Content-Encoding").isEmpty()
+                        && codecFor(response.headers()) == jsonCodec) {
+                    return ByteBufferInputStream.toString(response.body(), MAX_ERROR_BODY_BYTES);
+                }
+                return readErrorBody(new ByteBufferInputStream(response.body()), response.headers());
+            }
+        };
+    }
+    
+    /**
+     * Hands the open, decompressed body stream to the parser, which becomes responsible for closing it
+     */
+    private <T> ResponseReader<InputStream, T> streamReader(StreamParser<T> parser) {
+        return new ResponseReader<>() {
+            public HttpResponse.BodyHandler<InputStream> bodyHandler() {
+                return HttpResponse.BodyHandlers.ofInputStream();
+            }
+            
+            public T read(HttpResponse<InputStream> response) throws IOException {
+                return parser.parse(ContentDecoding.decode(response.body(), response.headers()),
+                        codecFor(response.headers()));
+            }
+            
+            public String describe(HttpResponse<InputStream> response) {
+                return readErrorBody(response.body(), response.headers());
+            }
+        };
+    }
+    
+    @FunctionalInterface
+    private interface StreamParser<T> {
+        T parse(InputStream body, PayloadCodec codec) throws IOException;
+    }
+    
+    /**
+     * Codec matching the response Content-Type. The first binary response
+     * proves the server speaks our binary format, so request bodies switch to it.
+     */
+    private PayloadCodec codecFor(HttpHeaders headers) {
+        if (binaryCodec != null
+                && headers.firstValue("Content-Type").filter(binaryCodec.getFormat()::matches).isPresent()) {
+            binaryRequests = true;
+            return binaryCodec;
+        }
+        return jsonCodec;
+    }
+    
+    private String readErrorBody(InputStream body, HttpHeaders headers) {
+        try (InputStream in = ContentDecoding.decode(body, headers)) {
+            PayloadCodec codec = codecFor(headers);
+            if (codec != jsonCodec) {
+                return codec.getObjectMapper().readTree(in).toString();
+            }
+            return new String(in.readNBytes(MAX_ERROR_BODY_BYTES), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            return "<unreadable body: " + e.getMessage() + ">";
+        }
+    }
+    
+    /**
+     * One logical API call, carried across its retry attempts
+     */
+    private final class Exchange<B, T> {
+        private final RequestFactory requestFactory;
+        private final ResponseReader<B, T> reader;
+        private final RetryPolicy retryPolicy;
+        private final CircuitBreaker circuitBreaker;
+        private HttpRequest request;
+        private int attempts;
+        private long lastDelayMillis;
+        
+        Exchange(HttpRequest request, RequestFactory requestFactory, ResponseReader<B, T> reader, EndpointGroup group) {
+            this.request = request;
+            this.requestFactory = requestFactory;
+            this.reader = reader;
+            this.retryPolicy = retryPolicies.get(group);
+            this.circuitBreaker = circuitBreakers.get(group);
+        }
+        
+        CompletableFuture<T> send() {
+            long breakerPermit = circuitBreaker.tryAcquire();
+            if (breakerPermit == CircuitBreaker.REJECTED) {
+                return CompletableFuture.failedFuture(new CircuitBreaker.OpenException(circuitBreaker.getGroup()));
+            }
+            if (concurrencyLimiter == null) {
+                return transmit(breakerPermit);
+            }
+            return concurrencyLimiter.acquire()
+                    .handle((permit, rejected) -> {
+                        if (rejected != null) {
+                            circuitBreaker.onIgnored(breakerPermit);
+                            return CompletableFuture.<T>failedFuture(rejected);
+                        }
+                        return transmit(breakerPermit);
+                    })
+                    .thenCompose(Function.identity());
+        }
+        
+        private CompletableFuture<T> transmit(long breakerPermit) {
+            attempts++;
+            long startNanos = System.nanoTime();
+            return transport.sendAsync(request, reader.bodyHandler())
+                    .handle((response, error) -> {
+                        if (error != null) {
+                            recordOutcome(true, startNanos, breakerPermit);
+                            return retryOrFail(unwrap(error), 0);
+                        }
+                        int status = response.statusCode();
+                        // Client errors still prove the server is answering
+                        recordOutcome(status == 429 || status >= 500, startNanos, breakerPermit);
+                        if (status == 415 && hasBinaryBody()) {
+                            return resendAsJson(response);
+                        }
+                        // 304 only answers conditional GETs, whose reader supplies the known response
+                        if (status >= 200 && status < 300 || status == 304) {
+                            retryBudget.onSuccess();
+                            return readResponse(reader, response);
+                        }
+                        LLMVerifierException failure = new LLMVerifierException(
+                                "API request failed: " + status + " - " + reader.describe(response), status
                         );
-                    }
-                } catch (Exception e) {
-                    lastException = e;
-                    retries++;
-                    if (retries < DEFAULT_MAX_RETRIES) {
-                        try {
-                            Thread.sleep(1000 * retries);
-                        } catch (InterruptedException ie) {
-                            Thread.currentThread().interrupt();
-                            throw new LLMVerifierException("Request interrupted", ie);
+                        if (status == 429 || status >= 500) {
+                            // Retry on throttling and server errors, no sooner than the server asked
+                            return retryOrFail(failure, retryAfterMillis(response));
                         }
-                    }
+                        return CompletableFuture.<T>failedFuture(failure);
+                    })
+                    .thenCompose(Function.identity());
+        }
+        
+        private boolean hasBinaryBody() {
+            return binaryCodec != null && request.headers().firstValue("Content-Type")
+                    .filter(binaryCodec.getFormat()::matches).isPresent();
+        }
+        
+        /**
+         * The server answers in the binary format but does not accept it in requests:
+         * fall back to JSON bodies for good and resend this one right away. The rejected
+         * request does not use up an attempt; as JSON bodies cannot be rejected this way,
+         * the fallback happens at most once per exchange.
+         */
+        private CompletableFuture<T> resendAsJson(HttpResponse<B> rejected) {
+            reader.describe(rejected);
+            binaryRequestsRejected = true;
+            attempts--;
+            try {
+                request = requestFactory.build();
+            } catch (IOException | RuntimeException e) {
+                return CompletableFuture.failedFuture(new LLMVerifierException("Failed to rebuild request as JSON", e));
+            }
+            return send();
+        }
+        
+        private void recordOutcome(boolean overloaded, long startNanos, long breakerPermit) {
+            if (overloaded) {
+                if (concurrencyLimiter != null) {
+                    concurrencyLimiter.onDropped();
                 }
+                circuitBreaker.onFailure(breakerPermit);
+            } else {
+                if (concurrencyLimiter != null) {
+                    concurrencyLimiter.onSuccess(circuitBreaker.getGroup(), System.nanoTime() - startNanos);
+                }
+                circuitBreaker.onSuccess(breakerPermit);
             }
-            
-            throw new LLMVerifierException("Request failed after " + DEFAULT_MAX_RETRIES + " retries", lastException);
-        }, executor);
+        }
+        
+        private CompletableFuture<T> retryOrFail(Throwable cause, long minDelayMillis) {
+            if (!retryPolicy.canRetry(attempts)) {
+                return CompletableFuture.failedFuture(
+                        new LLMVerifierException("Request failed after " + attempts + " attempts", cause));
+            }
+            if (minDelayMillis > retryPolicy.getMaxDelayMillis()) {
+                return CompletableFuture.failedFuture(new LLMVerifierException(
+                        "Server asked to retry after " + minDelayMillis + "ms, beyond the retry policy limit", cause));
+            }
+            if (!retryBudget.tryAcquire()) {
+                return CompletableFuture.failedFuture(new LLMVerifierException("Retry budget exhausted", cause));
+            }
+            lastDelayMillis = Math.max(minDelayMillis, retryPolicy.nextDelayMillis(lastDelayMillis));
+            return Schedulers.delay(lastDelayMillis, TimeUnit.MILLISECONDS, executor)
+                    .thenCompose(ignored -> send());
+        }
+    }
+    
+    private static <T> List<T> readOnly(List<T> list) {
+        return list != null ? Collections.unmodifiableList(list) : null;
+    }
+    
+    private static <B, T> CompletableFuture<T> readResponse(ResponseReader<B, T> reader, HttpResponse<B> response) {
+        try {
+            return CompletableFuture.completedFuture(reader.read(response));
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(new LLMVerifierException("Failed to parse response", e));
+        }
+    }
+    
+    /**
+     * Delay requested by a Retry-After header, either delta-seconds or an HTTP date
+     */
+    private static long retryAfterMillis(HttpResponse<?> response) {
+        Optional<String> header = response.headers().firstValue("Retry-After");
+        if (header.isEmpty()) {
+            return 0;
+        }
+        String value = header.get().trim();
+        try {
+            return Math.max(0, Long.parseLong(value) * 1000);
+        } catch (NumberFormatException e) {
+            try {
+                Instant retryAt = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+                return Math.max(0, Duration.between(Instant.now(), retryAt).toMillis());
+            } catch (DateTimeParseException ignored) {
+                return 0;
+            }
+        }
+    }
+    
+    private static Throwable unwrap(Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            return error.getCause();
+        }
+        return error;
+    }
+    
+    /**
+     * Circuit breaker guarding an endpoint group, for state and metrics inspection
+     */
+    public CircuitBreaker getCircuitBreaker(EndpointGroup group) {
+        return circuitBreakers.get(group);
+    }
+    
+    /**
+     * Response cache counters, or null when no cache is configured
+     */
+    public CacheStats getCacheStats() {
+        return responseCache != null ? responseCache.getStats() : null;
+    }
+    
+    /**
+     * Request and response payload byte counters
+     */
+    public TransferStats getTransferStats() {
+        return transferStats;
+    }
+    
+    /**
+     * Limiter bounding this client's in-flight requests, for inspection, or null when none is configured
+     */
+    public AdaptiveConcurrencyLimiter getConcurrencyLimiter() {
+        return concurrencyLimiter;
     }
     
     /**
      * Close the client and release resources
      */
     public void close() {
+        long deadline = System.nanoTime() + CLOSE_TIMEOUT_NANOS;
+        if (responseCache != null) {
+            responseCache.close();
+        }
+        eventStream.close();
+        if (verifyBatcher != null) {
+            verifyBatcher.flushAndAwait(deadline);
+        }
+        awaitInFlightExchanges(deadline);
         executor.shutdown();
         try {
             if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
@@ -214,6 +1024,37 @@ public class LLMVerifierClient {
             executor.shutdownNow();
             Thread.currentThread().interrupt();
         }
+        try {
+            transport.close();
+        } catch (Exception e) {
+            throw new LLMVerifierException("Failed to close transport", e);
+        }
+    }
+    
+    /**
+     * Give in-flight exchanges, and any follow-ups they start such as further batch chunks,
+     * until the deadline, then fail the rest: once the executor is shut down their response
+     * callbacks would be rejected and they would never complete
+     */
+    private void awaitInFlightExchanges(long deadline) {
+        while (!inFlightExchanges.isEmpty()) {
+            try {
+                CompletableFuture.allOf(inFlightExchanges.toArray(new CompletableFuture<?>[0]))
+                        .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException | CancellationException e) {
+                // The callers see the failure
+            } catch (TimeoutException e) {
+                break;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        closed = true;
+        LLMVerifierException closedError = new LLMVerifierException("Client is closed");
+        for (CompletableFuture<?> exchange : inFlightExchanges) {
+            exchange.completeExceptionally(closedError);
+        }
     }
     
     // Request/Response DTOs
@@ -223,11 +1064,17 @@ public class LLMVerifierClient {
         public String id;
         public String name;
         public String provider;
+        @JsonAlias("score")
         public double overallScore;
+        @JsonAlias("score_suffix")
         public String scoreSuffix;
         public Map<String, Double> scores;
-        public boolean isActive;
+        // The server's /api/models does not send an active flag; models it lists are active
+        @JsonAlias("is_active")
+        public boolean isActive = true;
+        @JsonAlias("created_at")
         public Date createdAt;
+        @JsonAlias("updated_at")
         public Date updatedAt;
     }
     
@@ -293,6 +1140,33 @@ public class LLMVerifierClient {
         public Date expiresAt;
     }
     
+    /**
+     * Server event as pushed over the /ws event stream
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Event {
+        public String id;
+        public EventType type;
+        public String severity;
+        public String title;
+        public String message;
+        public Map<String, Object> details;
+        @JsonProperty("model_id")
+        public Long modelId;
+        @JsonProperty("provider_id")
+        public Long providerId;
+        @JsonProperty("verification_id")
+        public Long verificationId;
+        @JsonProperty("issue_id")
+        public Long issueId;
+        @JsonProperty("client_id")
+        public String clientId;
+        @JsonProperty("user_id")
+        public Long userId;
+        public String source;
+        public Date timestamp;
+    }
+    
     // Request DTOs
     
     public static class VerificationRequest {
@@ -411,12 +1285,30 @@ public class LLMVerifierClient {
      * Custom exception for LLM Verifier API errors
      */
     public static class LLMVerifierException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        
+        private final int statusCode;
+        
         public LLMVerifierException(String message) {
             super(message);
+            this.statusCode = -1;
         }
         
         public LLMVerifierException(String message, Throwable cause) {
             super(message, cause);
+            this.statusCode = -1;
+        }
+        
+        public LLMVerifierException(String message, int statusCode) {
+            super(message);
+            this.statusCode = statusCode;
+        }
+        
+        /**
+         * HTTP status of the failed response, or -1 if no response was received
+         */
+        public int getStatusCode() {
+            return statusCode;
         }
     }
     
@@ -428,6 +1320,35 @@ public class LLMVerifierClient {
         private String apiKey;
         private int timeout = DEFAULT_TIMEOUT;
         private int maxRetries = DEFAULT_MAX_RETRIES;
+        private boolean virtualThreads = false;
+        private RetryPolicy retryPolicy;
+        private final Map<EndpointGroup, RetryPolicy> groupRetryPolicies = new EnumMap<>(EndpointGroup.class);
+        private RetryBudget retryBudget = RetryBudget.defaultBudget();
+        private int circuitFailureThreshold = 5;
+        private Duration circuitOpenDuration = Duration.ofSeconds(30);
+        private final List<CircuitBreaker.Listener> circuitListeners = new ArrayList<>();
+        private double hedgePercentile = 0;
+        private AdaptiveConcurrencyLimiter concurrencyLimiter;
+        private Transport transport;
+        private boolean coalesceReads = true;
+        private int verifyBatchSize = 0;
+        private Duration verifyBatchLinger = Duration.ZERO;
+        private int batchChunkSize = 1000;
+        private int batchParallelism = 4;
+        private boolean responseCompression = true;
+        private int requestCompressionThreshold = -1;
+        private WireFormat wireFormat = WireFormat.JSON;
+        private String eventsUrl;
+        private RetryPolicy eventReconnectPolicy = new RetryPolicy(Integer.MAX_VALUE, Duration.ofSeconds(1), Duration.ofSeconds(30));
+        private Duration eventHeartbeat = Duration.ofSeconds(30);
+        private int eventQueueCapacity = 1024;
+        private OverflowPolicy eventOverflowPolicy = OverflowPolicy.DROP_NEWEST;
+        private boolean eventDrivenCache;
+        private int cacheMaxEntries = 10000;
+        private Duration cacheTtl;
+        private Duration cacheStaleWhileRevalidate = Duration.ZERO;
+        private boolean conditionalRequests = true;
+        private Path catalogSnapshotFile;
         
         public Builder apiKey(String apiKey) {
             this.apiKey = apiKey;
@@ -449,12 +1370,262 @@ public class LLMVerifierClient {
             return this;
         }
         
+        /**
+         * Retry policy for all endpoints; overrides maxRetries
+         */
+        public Builder retryPolicy(RetryPolicy retryPolicy) {
+            this.retryPolicy = retryPolicy;
+            return this;
+        }
+        
+        /**
+         * Retry policy for one endpoint group; takes precedence over the client-wide policy
+         */
+        public Builder retryPolicy(EndpointGroup group, RetryPolicy retryPolicy) {
+            this.groupRetryPolicies.put(group, retryPolicy);
+            return this;
+        }
+        
+        /**
+         * Retry budget shared by all calls on the client.
+         * Use {@link RetryBudget#unlimited()} to let every call retry independently.
+         */
+        public Builder retryBudget(RetryBudget retryBudget) {
+            this.retryBudget = retryBudget;
+            return this;
+        }
+        
+        /**
+         * Open an endpoint group's circuit after this many consecutive failures
+         * and keep it open for openDuration before a trial request
+         */
+        public Builder circuitBreaker(int failureThreshold, Duration openDuration) {
+            this.circuitFailureThreshold = failureThreshold;
+            this.circuitOpenDuration = openDuration;
+            return this;
+        }
+        
+        /**
+         * Receive circuit breaker state changes for every endpoint group
+         */
+        public Builder circuitBreakerListener(CircuitBreaker.Listener listener) {
+            this.circuitListeners.add(listener);
+            return this;
+        }
+        
+        /**
+         * Hedge getModel, getModels, getRankings and getScoreHistory: when a request is
+         * slower than this percentile (e.g. 0.95) of its recent latencies, send a second
+         * one and use whichever answers first. Disabled by default.
+         */
+        public Builder hedgeAtPercentile(double percentile) {
+            if (percentile <= 0 || percentile >= 1) {
+                throw new IllegalArgumentException("Hedge percentile must be between 0 and 1");
+            }
+            this.hedgePercentile = percentile;
+            return this;
+        }
+        
+        /**
+         * Limiter bounding in-flight requests, adapting to observed latency and errors,
+         * e.g. {@link AdaptiveConcurrencyLimiter#defaultLimiter()}; off by default
+         */
+        public Builder concurrencyLimiter(AdaptiveConcurrencyLimiter concurrencyLimiter) {
+            this.concurrencyLimiter = concurrencyLimiter;
+            return this;
+        }
+        
+        /**
+         * Replace the default HttpClient transport, e.g. with an in-memory one for tests.
+         * The client takes ownership and closes it on {@link LLMVerifierClient#close()}.
+         */
+        public Builder transport(Transport transport) {
+            this.transport = transport;
+            return this;
+        }
+        
+        /**
+         * Share one in-flight request between identical concurrent GET calls. Enabled by default.
+         */
+        public Builder coalesceReads(boolean coalesceReads) {
+            this.coalesceReads = coalesceReads;
+            return this;
+        }
+        
+        /**
+         * Buffer verifyModel calls and send them through /api/verify/batch once
+         * maxBatchSize calls are waiting or the oldest has waited for linger.
+         * Each caller still receives its own result. Disabled by default.
+         */
+        public Builder verifyBatching(int maxBatchSize, Duration linger) {
+            if (maxBatchSize < 2) {
+                throw new IllegalArgumentException("maxBatchSize must be at least 2");
+            }
+            this.verifyBatchSize = maxBatchSize;
+            this.verifyBatchLinger = linger;
+            return this;
+        }
+        
+        /**
+         * Split batchVerify calls larger than chunkSize into chunks, sending at most
+         * maxParallelChunks at a time. Defaults to chunks of 1000, 4 in parallel.
+         */
+        public Builder batchChunking(int chunkSize, int maxParallelChunks) {
+            if (chunkSize < 1 || maxParallelChunks < 1) {
+                throw new IllegalArgumentException("chunkSize and maxParallelChunks must be positive");
+            }
+            this.batchChunkSize = chunkSize;
+            this.batchParallelism = maxParallelChunks;
+            return this;
+        }
+        
+        /**
+         * Ask the server for gzip (and brotli, when org.brotli:dec is on the classpath)
+         * compressed responses. Enabled by default.
+         */
+        public Builder responseCompression(boolean responseCompression) {
+            this.responseCompression = responseCompression;
+            return this;
+        }
+        
+        /**
+         * Gzip request bodies of at least minBytes (e.g. large batchVerify payloads),
+         * compressing on the fly as the body is sent. Only enable this against servers
+         * that accept Content-Encoding: gzip on requests. Disabled by default.
+         */
+        public Builder requestCompression(int minBytes) {
+            if (minBytes < 0) {
+                throw new IllegalArgumentException("minBytes must not be negative");
+            }
+            this.requestCompressionThreshold = minBytes;
+            return this;
+        }
+        
+        /**
+         * Prefer a binary payload format. Responses are requested in it with JSON as
+         * fallback; request bodies switch to it once the server has answered in it, and
+         * go back to JSON for good if the server rejects them with 415.
+         */
+        public Builder wireFormat(WireFormat wireFormat) {
+            if (!wireFormat.isAvailable()) {
+                throw new IllegalStateException(wireFormat + " wire format requires its jackson-dataformat module");
+            }
+            this.wireFormat = wireFormat;
+            return this;
+        }
+        
+        /**
+         * WebSocket URL of the event stream, for servers that run it on a separate
+         * listener. Defaults to /ws on the API base URL.
+         */
+        public Builder eventsUrl(String eventsUrl) {
+            this.eventsUrl = eventsUrl;
+            return this;
+        }
+        
+        /**
+         * Backoff between event stream reconnects. maxAttempts bounds consecutive
+         * failed connects; by default the stream keeps reconnecting with 1s-30s delays.
+         */
+        public Builder eventReconnectPolicy(RetryPolicy eventReconnectPolicy) {
+            this.eventReconnectPolicy = eventReconnectPolicy;
+            return this;
+        }
+        
+        /**
+         * Interval of the event stream keepalive ping. A connection that stays silent
+         * for two intervals is dropped and reconnected. Defaults to 30 seconds.
+         */
+        public Builder eventHeartbeat(Duration interval) {
+            if (interval.isZero() || interval.isNegative()) {
+                throw new IllegalArgumentException("interval must be positive");
+            }
+            this.eventHeartbeat = interval;
+            return this;
+        }
+        
+        /**
+         * Events buffered per subscription, and the default policy once that buffer
+         * is full. Defaults to 1024 events, dropping the newest.
+         */
+        public Builder eventQueue(int capacity, OverflowPolicy overflowPolicy) {
+            if (capacity < 1) {
+                throw new IllegalArgumentException("capacity must be positive");
+            }
+            this.eventQueueCapacity = capacity;
+            this.eventOverflowPolicy = Objects.requireNonNull(overflowPolicy, "overflowPolicy");
+            return this;
+        }
+        
+        /**
+         * Persist the model catalog to this file after each getModels download, and
+         * on start serve getModels from it immediately while the catalog is fetched
+         * in the background. The snapshot is answered until that fetch succeeds, so
+         * it can be as old as the last run. Disabled by default.
+         */
+        public Builder catalogSnapshot(Path file) {
+            this.catalogSnapshotFile = file;
+            return this;
+        }
+        
+        /**
+         * Send repeated GETs with If-None-Match / If-Modified-Since when the previous
+         * response carried an ETag or Last-Modified, and reuse that response on
+         * 304 Not Modified. Reused DTOs are shared and must be treated as read-only.
+         * Enabled by default.
+         */
+        public Builder conditionalRequests(boolean conditionalRequests) {
+            this.conditionalRequests = conditionalRequests;
+            return this;
+        }
+        
+        /**
+         * Cache getModels, getModel, getModelsByScore and getRankings responses until
+         * a server event (verification, score change, model or provider change) says
+         * they changed. Opens the event stream when the client is built; while it is
+         * disconnected, reads go to the server unless a time to live is also set with
+         * {@link #cache}. Cached DTOs are shared and must be treated as read-only.
+         * Disabled by default.
+         */
+        public Builder eventDrivenCache(boolean eventDrivenCache) {
+            this.eventDrivenCache = eventDrivenCache;
+            return this;
+        }
+        
+        /**
+         * Cache the same catalog reads for ttl, keeping at most maxEntries responses
+         * (least recently used go first). For staleWhileRevalidate after expiry an
+         * entry is still served while one background request refreshes it. Combine
+         * with {@link #eventDrivenCache} to also evict entries as soon as they change.
+         */
+        public Builder cache(int maxEntries, Duration ttl, Duration staleWhileRevalidate) {
+            if (maxEntries < 1) {
+                throw new IllegalArgumentException("maxEntries must be positive");
+            }
+            if (ttl.isZero() || ttl.isNegative() || staleWhileRevalidate.isNegative()) {
+                throw new IllegalArgumentException("ttl must be positive and staleWhileRevalidate not negative");
+            }
+            this.cacheMaxEntries = maxEntries;
+            this.cacheTtl = ttl;
+            this.cacheStaleWhileRevalidate = staleWhileRevalidate;
+            return this;
+        }
+        
+        /**
+         * Run requests and callbacks on JDK 21 virtual threads instead of a cached
+         * platform thread pool. Makes the *Sync methods cheap to call at high concurrency.
+         */
+        public Builder virtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+            return this;
+        }
+        
         public LLMVerifierClient build() {
             if (apiKey == null || apiKey.isEmpty()) {
                 throw new IllegalArgumentException("API key is required");
             }
             
-            return new LLMVerifierClient(baseUrl, apiKey);
+            return new LLMVerifierClient(this);
         }
     }
     
@@ -0,0 +1,44 @@
+package com.llmverifier.sdk;
+
+import java.util.Arrays;
+
+/**
+ * Sliding window of recent request latencies with cached percentile lookup.
+ * Percentiles are recomputed only every {@code RECOMPUTE_INTERVAL} samples so
+ * reading them stays cheap on the request path.
+ */
+final class LatencyTracker {
+    private static final int WINDOW_SIZE = 1024;
+    private static final int MIN_SAMPLES = 20;
+    private static final int RECOMPUTE_INTERVAL = 32;
+    
+    private final long[] samplesNanos = new long[WINDOW_SIZE];
+    private final double percentile;
+    private int count;
+    private int next;
+    private int sinceRecompute;
+    private long cachedPercentileNanos = -1;
+    
+    LatencyTracker(double percentile) {
+        this.percentile = percentile;
+    }
+    
+    synchronized void record(long latencyNanos) {
+        samplesNanos[next] = latencyNanos;
+        next = (next + 1) % WINDOW_SIZE;
+        count = Math.min(count + 1, WINDOW_SIZE);
+        if (count >= MIN_SAMPLES && (++sinceRecompute >= RECOMPUTE_INTERVAL || cachedPercentileNanos < 0)) {
+            sinceRecompute = 0;
+            long[] sorted = Arrays.copyOf(samplesNanos, count);
+            Arrays.sort(sorted);
+            cachedPercentileNanos = sorted[(int) Math.min(count - 1, Math.floor(percentile * count))];
+        }
+    }
+    
+    /**
+     * Latency at the tracked percentile, or -1 until enough samples have been seen
+     */
+    synchronized long percentileNanos() {
+        return cachedPercentileNanos;
+    }
+}
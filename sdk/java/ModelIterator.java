@@ -0,0 +1,103 @@
+package com.llmverifier.sdk;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.llmverifier.sdk.LLMVerifierClient.LLMVerifierException;
+import com.llmverifier.sdk.LLMVerifierClient.Model;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates over the models of a catalog response while it is being read.
+ * Only the current model is materialized; the raw body is never buffered.
+ * Accepts either {"models": [...]} or a bare array. Closing the iterator
+ * closes the underlying response stream.
+ */
+public final class ModelIterator implements Iterator<Model>, AutoCloseable {
+    private final ObjectMapper objectMapper;
+    private final JsonParser parser;
+    private Model next;
+    private boolean finished;
+    
+    ModelIterator(ObjectMapper objectMapper, JsonParser parser) throws IOException {
+        this.objectMapper = objectMapper;
+        this.parser = parser;
+        try {
+            finished = !moveToModelsArray();
+        } catch (IOException | RuntimeException e) {
+            parser.close();
+            throw e;
+        }
+        if (finished) {
+            parser.close();
+        }
+    }
+    
+    @Override
+    public boolean hasNext() {
+        if (next != null) {
+            return true;
+        }
+        if (finished) {
+            return false;
+        }
+        try {
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                next = objectMapper.readValue(parser, Model.class);
+                return true;
+            }
+            close();
+            return false;
+        } catch (IOException e) {
+            close();
+            throw new LLMVerifierException("Failed to parse model catalog", e);
+        }
+    }
+    
+    @Override
+    public Model next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Model model = next;
+        next = null;
+        return model;
+    }
+    
+    @Override
+    public void close() {
+        finished = true;
+        try {
+            parser.close();
+        } catch (IOException ignored) {
+            // Nothing useful to do if releasing the connection fails
+        }
+    }
+    
+    /**
+     * Position the parser just inside the models array
+     *
+     * @return false if the body contains no models array
+     */
+    private boolean moveToModelsArray() throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.START_ARRAY) {
+            return true;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            return false;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if ("models".equals(field) && value == JsonToken.START_ARRAY) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+}
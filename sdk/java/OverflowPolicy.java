@@ -0,0 +1,26 @@
+package com.llmverifier.sdk;
+
+/**
+ * What an event subscription does when its queue is full
+ */
+public enum OverflowPolicy {
+    /**
+     * Stop reading the event socket until the listener catches up. Nothing is lost,
+     * but every subscription on the client waits for the slowest blocking one.
+     */
+    BLOCK,
+    /**
+     * Discard the oldest queued event to make room
+     */
+    DROP_OLDEST,
+    /**
+     * Discard the incoming event
+     */
+    DROP_NEWEST,
+    /**
+     * Replace a queued event for the same model with the newer one, so a burst for
+     * one model costs a single slot; events without a model id, or for a model not
+     * yet queued, fall back to dropping the oldest
+     */
+    COALESCE_BY_MODEL_ID
+}
@@ -0,0 +1,45 @@
+package com.llmverifier.sdk;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Byte-oriented payload encoding with per-type cached readers and writers.
+ * Request bodies are written straight to bytes (UTF-8 JSON or a binary
+ * {@link WireFormat}) through Jackson's recycled buffers, and responses are parsed
+ * from the received bytes, so no payload is ever materialized as a String.
+ */
+final class PayloadCodec {
+    private final WireFormat format;
+    private final ObjectMapper objectMapper;
+    private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+    
+    PayloadCodec(WireFormat format, ObjectMapper objectMapper) {
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+    
+    WireFormat getFormat() {
+        return format;
+    }
+    
+    ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+    
+    byte[] encode(Object value) throws JsonProcessingException {
+        return writers.computeIfAbsent(value.getClass(), objectMapper::writerFor).writeValueAsBytes(value);
+    }
+    
+    <T> T decode(InputStream body, Class<T> type) throws IOException {
+        return readers.computeIfAbsent(type, objectMapper::readerFor).readValue(body);
+    }
+}
@@ -0,0 +1,204 @@
+package com.llmverifier.sdk;
+
+import com.llmverifier.sdk.LLMVerifierClient.Event;
+
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Size-bounded LRU cache of catalog responses, keyed by request path.
+ * <p>
+ * With a time to live, an entry is fresh for that long and is then served stale
+ * for up to the stale-while-revalidate window while one background load replaces
+ * it; after that it is reloaded in the foreground. With an event stream, entries are
+ * evicted as soon as the server pushes an event that changes them. Event-driven
+ * entries are only trusted while the stream is connected, and a new connection
+ * starts from an empty cache since events may have been missed. Without a time to
+ * live, entries live until an event evicts them, and reads bypass the cache while
+ * the stream is down.
+ */
+final class ResponseCache implements Consumer<Event> {
+    static final Set<EventType> MODEL_EVENTS = EnumSet.of(
+            EventType.VERIFICATION_COMPLETED, EventType.VERIFICATION_FAILED, EventType.SCORE_CHANGED,
+            EventType.MODEL_ADDED, EventType.MODEL_REMOVED, EventType.ISSUE_DETECTED, EventType.ISSUE_RESOLVED);
+    static final Set<EventType> CATALOG_EVENTS = EnumSet.of(
+            EventType.PROVIDER_ADDED, EventType.PROVIDER_REMOVED, EventType.DATABASE_MIGRATION);
+    
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final long staleNanos;
+    private final EventStream stream;
+    private final EventSubscription subscription;
+    private final CacheStats stats = new CacheStats();
+    private final LinkedHashMap<String, Entry> entries;
+    // Bumped on every eviction by event so loads that raced with it do not store stale data
+    private long generation;
+    private long connection = -1;
+    
+    private static final class Entry {
+        final Object value;
+        final String modelId;
+        final long loadedNanos;
+        boolean refreshing;
+        
+        Entry(Object value, String modelId, long loadedNanos) {
+            this.value = value;
+            this.modelId = modelId;
+            this.loadedNanos = loadedNanos;
+        }
+    }
+    
+    /**
+     * @param ttlNanos time an entry is fresh, or 0 to rely on events alone
+     * @param stream event stream that invalidates entries, or null for time-based expiry only
+     */
+    ResponseCache(int maxEntries, long ttlNanos, long staleNanos, EventStream stream) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlNanos;
+        this.staleNanos = staleNanos;
+        this.stream = stream;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > ResponseCache.this.maxEntries) {
+                    stats.recordEviction();
+                    return true;
+                }
+                return false;
+            }
+        };
+        if (stream != null) {
+            Set<EventType> types = EnumSet.copyOf(MODEL_EVENTS);
+            types.addAll(CATALOG_EVENTS);
+            // BLOCK: a dropped invalidation would leave a stale entry behind
+            this.subscription = stream.subscribe(types, this, OverflowPolicy.BLOCK);
+        } else {
+            this.subscription = null;
+        }
+    }
+    
+    CacheStats getStats() {
+        return stats;
+    }
+    
+    /**
+     * @param modelId the one model a response describes, or null for lists and rankings,
+     *                which any model event may change
+     */
+    @SuppressWarnings("unchecked")
+    <T> CompletableFuture<T> get(String path, String modelId, Supplier<CompletableFuture<T>> loader) {
+        long now = System.nanoTime();
+        Entry entry;
+        long loadGeneration;
+        boolean refresh = false;
+        synchronized (this) {
+            if (!syncConnection()) {
+                stats.recordMiss();
+                return load(path, modelId, loader, -1);
+            }
+            loadGeneration = generation;
+            entry = entries.get(path);
+            if (entry != null) {
+                long age = now - entry.loadedNanos;
+                if (ttlNanos == 0 || age < ttlNanos) {
+                    stats.recordHit(false);
+                    return CompletableFuture.completedFuture((T) entry.value);
+                }
+                if (age < ttlNanos + staleNanos) {
+                    stats.recordHit(true);
+                    refresh = !entry.refreshing;
+                    entry.refreshing = true;
+                } else {
+                    entries.remove(path);
+                    entry = null;
+                }
+            }
+            if (entry == null) {
+                stats.recordMiss();
+            }
+        }
+        if (entry == null) {
+            return load(path, modelId, loader, loadGeneration);
+        }
+        if (refresh) {
+            Entry stale = entry;
+            load(path, modelId, loader, loadGeneration).whenComplete((value, failure) -> {
+                synchronized (this) {
+                    // Failed refresh: keep serving the stale value until it expires
+                    stale.refreshing = false;
+                }
+            });
+        }
+        return CompletableFuture.completedFuture((T) entry.value);
+    }
+    
+    /**
+     * Load from the server; the result is stored only if no invalidation happened meanwhile
+     */
+    private <T> CompletableFuture<T> load(String path, String modelId, Supplier<CompletableFuture<T>> loader,
+                                          long loadGeneration) {
+        long start = System.nanoTime();
+        return loader.get().whenComplete((value, failure) -> {
+            long end = System.nanoTime();
+            stats.recordLoad(end - start, failure != null);
+            if (failure == null && value != null && loadGeneration >= 0) {
+                synchronized (this) {
+                    if (generation == loadGeneration) {
+                        entries.put(path, new Entry(value, modelId, end));
+                    }
+                }
+            }
+        });
+    }
+    
+    /**
+     * Whether entries may be served, clearing them when the event stream reconnected
+     */
+    private boolean syncConnection() {
+        if (stream == null) {
+            return true;
+        }
+        long current = stream.currentConnection();
+        if (current != connection) {
+            generation++;
+            entries.clear();
+            connection = current;
+        }
+        return current >= 0 || ttlNanos > 0;
+    }
+    
+    @Override
+    public synchronized void accept(Event event) {
+        generation++;
+        int before = entries.size();
+        if (CATALOG_EVENTS.contains(event.type) || event.modelId == null) {
+            entries.clear();
+        } else {
+            // A model change can move it in every list and ranking, so only other models' entries survive
+            String modelId = String.valueOf(event.modelId);
+            Iterator<Entry> cached = entries.values().iterator();
+            while (cached.hasNext()) {
+                Entry entry = cached.next();
+                if (entry.modelId == null || entry.modelId.equals(modelId)) {
+                    cached.remove();
+                }
+            }
+        }
+        stats.recordInvalidations(before - entries.size());
+    }
+    
+    void close() {
+        if (subscription != null) {
+            subscription.close();
+        }
+        synchronized (this) {
+            entries.clear();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.llmverifier.sdk;
+
+/**
+ * Token bucket that caps retries to a fraction of recent successful traffic.
+ * Every success deposits {@code retryRatio} tokens and every retry withdraws one,
+ * so an overloaded server sees at most (1 + retryRatio) times its normal load.
+ * A small time-based refill keeps retries possible for low-traffic clients.
+ */
+public final class RetryBudget {
+    private final double retryRatio;
+    private final double minRetriesPerSecond;
+    private final double maxBalance;
+    private final boolean unlimited;
+    
+    private double balance;
+    private long lastRefillNanos;
+    private long retriesDenied;
+    
+    /**
+     * @param retryRatio          retries allowed per successful request (e.g. 0.2 = 20%)
+     * @param minRetriesPerSecond retries always allowed regardless of traffic
+     * @param maxBalance          most tokens that can be saved up for a burst of retries
+     */
+    public RetryBudget(double retryRatio, double minRetriesPerSecond, double maxBalance) {
+        this(retryRatio, minRetriesPerSecond, maxBalance, false);
+    }
+    
+    private RetryBudget(double retryRatio, double minRetriesPerSecond, double maxBalance, boolean unlimited) {
+        if (retryRatio < 0 || minRetriesPerSecond < 0 || maxBalance < 1) {
+            throw new IllegalArgumentException("Invalid retry budget parameters");
+        }
+        this.retryRatio = retryRatio;
+        this.minRetriesPerSecond = minRetriesPerSecond;
+        this.maxBalance = maxBalance;
+        this.unlimited = unlimited;
+        this.balance = Math.min(maxBalance, Math.max(1, minRetriesPerSecond));
+        this.lastRefillNanos = System.nanoTime();
+    }
+    
+    /**
+     * Default budget: 20% of successful traffic, 1 retry per second floor, bursts of 10
+     */
+    public static RetryBudget defaultBudget() {
+        return new RetryBudget(0.2, 1, 10);
+    }
+    
+    /**
+     * Budget that never denies a retry
+     */
+    public static RetryBudget unlimited() {
+        return new RetryBudget(0, 0, 1, true);
+    }
+    
+    /**
+     * Record a successful request
+     */
+    public synchronized void onSuccess() {
+        refill();
+        balance = Math.min(maxBalance, balance + retryRatio);
+    }
+    
+    /**
+     * Take a token for one retry
+     *
+     * @return false if the budget is exhausted and the retry must not be sent
+     */
+    public synchronized boolean tryAcquire() {
+        if (unlimited) {
+            return true;
+        }
+        refill();
+        if (balance >= 1) {
+            balance -= 1;
+            return true;
+        }
+        retriesDenied++;
+        return false;
+    }
+    
+    public synchronized double getBalance() {
+        refill();
+        return balance;
+    }
+    
+    public synchronized long getRetriesDenied() {
+        return retriesDenied;
+    }
+    
+    private void refill() {
+        long now = System.nanoTime();
+        double elapsedSeconds = (now - lastRefillNanos) / 1_000_000_000.0;
+        lastRefillNanos = now;
+        balance = Math.min(maxBalance, balance + elapsedSeconds * minRetriesPerSecond);
+    }
+}
@@ -0,0 +1,70 @@
+package com.llmverifier.sdk;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retry policy with decorrelated jitter backoff.
+ * Each delay is drawn uniformly from [baseDelay, 3 * previousDelay] and capped at
+ * maxDelay, so clients that fail together do not retry together.
+ */
+public final class RetryPolicy {
+    private static final Duration DEFAULT_BASE_DELAY = Duration.ofSeconds(1);
+    private static final Duration DEFAULT_MAX_DELAY = Duration.ofSeconds(20);
+    
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    
+    public RetryPolicy(int maxAttempts, Duration baseDelay, Duration maxDelay) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1");
+        }
+        if (baseDelay.isNegative() || maxDelay.compareTo(baseDelay) < 0) {
+            throw new IllegalArgumentException("Delays must satisfy 0 <= baseDelay <= maxDelay");
+        }
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMillis = baseDelay.toMillis();
+        this.maxDelayMillis = maxDelay.toMillis();
+    }
+    
+    /**
+     * Default policy: up to maxAttempts attempts, 1s base delay, 20s cap
+     */
+    public static RetryPolicy withMaxAttempts(int maxAttempts) {
+        return new RetryPolicy(maxAttempts, DEFAULT_BASE_DELAY, DEFAULT_MAX_DELAY);
+    }
+    
+    /**
+     * Policy that never retries
+     */
+    public static RetryPolicy none() {
+        return new RetryPolicy(1, Duration.ZERO, Duration.ZERO);
+    }
+    
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+    
+    public long getMaxDelayMillis() {
+        return maxDelayMillis;
+    }
+    
+    /**
+     * Whether another attempt is allowed after the given number of attempts
+     */
+    public boolean canRetry(int attemptsMade) {
+        return attemptsMade < maxAttempts;
+    }
+    
+    /**
+     * Compute the next backoff delay from the previous one (0 before the first retry)
+     */
+    public long nextDelayMillis(long previousDelayMillis) {
+        long upper = Math.min(maxDelayMillis, Math.max(baseDelayMillis, previousDelayMillis) * 3);
+        if (upper <= baseDelayMillis) {
+            return baseDelayMillis;
+        }
+        return ThreadLocalRandom.current().nextLong(baseDelayMillis, upper + 1);
+    }
+}
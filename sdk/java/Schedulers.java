@@ -0,0 +1,34 @@
+package com.llmverifier.sdk;
+
+import java.util.concurrent.*;
+
+/**
+ * Timer shared by every client in the JVM.
+ * Its single daemon thread only fires timers; the work they trigger is handed
+ * off to the owning client's executor so the timer thread never blocks.
+ */
+final class Schedulers {
+    static final ScheduledExecutorService SHARED = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "llm-verifier-scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    private Schedulers() {
+    }
+    
+    /**
+     * Future that completes on the given executor once the delay has elapsed
+     */
+    static CompletableFuture<Void> delay(long delay, TimeUnit unit, Executor executor) {
+        CompletableFuture<Void> timer = new CompletableFuture<>();
+        SHARED.schedule(() -> {
+            try {
+                executor.execute(() -> timer.complete(null));
+            } catch (RejectedExecutionException e) {
+                timer.completeExceptionally(new LLMVerifierClient.LLMVerifierException("Client is closed", e));
+            }
+        }, delay, unit);
+        return timer;
+    }
+}
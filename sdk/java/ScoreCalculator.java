@@ -0,0 +1,136 @@
+package com.llmverifier.sdk;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.llmverifier.sdk.LLMVerifierClient.ModelScore;
+import com.llmverifier.sdk.LLMVerifierClient.ScoreComponents;
+import com.llmverifier.sdk.LLMVerifierClient.ScoreWeights;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Local version of the server's score formula (llm-verifier/scoring, combineScores),
+ * for recomputing scores from known components without a calculateScore round trip.
+ * <p>
+ * Results match the server bit for bit: the weighted sum is evaluated in the same
+ * order with plain IEEE-754 double arithmetic and clamped to [0, 10] the same way,
+ * and the suffix rounds the exact binary value half-to-even to one decimal, as Go's
+ * {@code %.1f} does. The server rounds each product explicitly so that Go does not
+ * fuse them into multiply-adds on arm64 and similar targets.
+ * <p>
+ * The server's conformance vectors (llm-verifier/scoring/testdata/score_conformance.json)
+ * are the reference; {@link #checkConformance} runs this class against them, e.g.
+ * {@code java com.llmverifier.sdk.ScoreCalculator path/to/score_conformance.json}.
+ */
+public final class ScoreCalculator {
+    private static final double MIN_SCORE = 0;
+    private static final double MAX_SCORE = 10;
+    
+    private ScoreCalculator() {
+    }
+    
+    /**
+     * Weighted sum of the five components, clamped to [0, 10]
+     */
+    public static double overallScore(ScoreComponents components, ScoreWeights weights) {
+        double total = (components.responseSpeed * weights.responseSpeed)
+                + (components.modelEfficiency * weights.modelEfficiency)
+                + (components.costEffectiveness * weights.costEffectiveness)
+                + (components.capability * weights.capability)
+                + (components.recency * weights.recency);
+        return Math.max(MIN_SCORE, Math.min(MAX_SCORE, total));
+    }
+    
+    /**
+     * The "(SC:x.y)" suffix the server appends for a score
+     */
+    public static String scoreSuffix(double score) {
+        if (Double.isNaN(score) || Double.isInfinite(score)) {
+            // Go prints these as NaN, +Inf and -Inf
+            return "(SC:" + (Double.isNaN(score) ? "NaN" : score > 0 ? "+Inf" : "-Inf") + ")";
+        }
+        String digits = new BigDecimal(score).setScale(1, RoundingMode.HALF_EVEN).toPlainString();
+        if (score < 0 || score == 0 && 1 / score < 0) {
+            // BigDecimal drops the sign of values that round to zero; Go keeps it
+            digits = digits.startsWith("-") ? digits : "-" + digits;
+        }
+        return "(SC:" + digits + ")";
+    }
+    
+    /**
+     * Recompute a score under different weights, e.g. one from getScoreHistory
+     */
+    public static ModelScore calculate(ModelScore score, ScoreWeights weights) {
+        ModelScore result = new ModelScore();
+        result.modelId = score.modelId;
+        result.modelName = score.modelName;
+        result.components = score.components;
+        result.score = overallScore(score.components, weights);
+        result.scoreSuffix = scoreSuffix(result.score);
+        result.timestamp = new Date();
+        return result;
+    }
+    
+    /**
+     * Run the formula against a conformance vector file; returns one line per mismatch
+     */
+    public static List<String> checkConformance(Path vectorFile) throws IOException {
+        JsonNode vectors = new ObjectMapper().readTree(vectorFile.toFile()).path("vectors");
+        if (!vectors.isArray() || vectors.isEmpty()) {
+            throw new IOException("No conformance vectors in " + vectorFile);
+        }
+        
+        List<String> mismatches = new ArrayList<>();
+        for (JsonNode vector : vectors) {
+            JsonNode c = vector.path("components");
+            ScoreComponents components = new ScoreComponents();
+            components.responseSpeed = c.path("speed_score").asDouble();
+            components.modelEfficiency = c.path("efficiency_score").asDouble();
+            components.costEffectiveness = c.path("cost_score").asDouble();
+            components.capability = c.path("capability_score").asDouble();
+            components.recency = c.path("recency_score").asDouble();
+            
+            JsonNode w = vector.path("weights");
+            ScoreWeights weights = new ScoreWeights();
+            weights.responseSpeed = w.path("response_speed").asDouble();
+            weights.modelEfficiency = w.path("model_efficiency").asDouble();
+            weights.costEffectiveness = w.path("cost_effectiveness").asDouble();
+            weights.capability = w.path("capability").asDouble();
+            weights.recency = w.path("recency").asDouble();
+            
+            double expected = Double.longBitsToDouble(Long.parseUnsignedLong(vector.path("score_bits").asText(), 16));
+            String expectedSuffix = vector.path("score_suffix").asText();
+            double score = overallScore(components, weights);
+            String suffix = scoreSuffix(score);
+            if (Double.doubleToRawLongBits(score) != Double.doubleToRawLongBits(expected)
+                    || !suffix.equals(expectedSuffix)) {
+                mismatches.add(vector.path("name").asText() + ": got " + score + " " + suffix
+                        + ", want " + expected + " " + expectedSuffix);
+            }
+        }
+        return mismatches;
+    }
+    
+    /**
+     * Check against a conformance vector file; exits non-zero on any mismatch
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("usage: ScoreCalculator <score_conformance.json>");
+            System.exit(2);
+        }
+        List<String> mismatches = checkConformance(Paths.get(args[0]));
+        mismatches.forEach(System.err::println);
+        if (!mismatches.isEmpty()) {
+            System.exit(1);
+        }
+        System.out.println("ScoreCalculator matches " + args[0]);
+    }
+}
@@ -0,0 +1,53 @@
+package com.llmverifier.sdk;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Byte counters for the payloads a client has sent and received.
+ * Response bytes are counted as received on the wire (compressed, if the server
+ * compressed them) and again after decoding.
+ */
+public final class TransferStats {
+    private final LongAdder requestBodies = new LongAdder();
+    private final LongAdder requestBytes = new LongAdder();
+    private final LongAdder responseBodies = new LongAdder();
+    private final LongAdder responseBytes = new LongAdder();
+    private final LongAdder decodedResponseBytes = new LongAdder();
+    
+    void recordRequest(long bytes) {
+        requestBodies.increment();
+        requestBytes.add(bytes);
+    }
+    
+    void recordResponse(long wireBytes, long decodedBytes) {
+        responseBodies.increment();
+        responseBytes.add(wireBytes);
+        decodedResponseBytes.add(decodedBytes);
+    }
+    
+    public long getRequestBodies() {
+        return requestBodies.sum();
+    }
+    
+    public long getRequestBytes() {
+        return requestBytes.sum();
+    }
+    
+    public long getResponseBodies() {
+        return responseBodies.sum();
+    }
+    
+    /**
+     * Response body bytes as received, before decompression
+     */
+    public long getResponseBytes() {
+        return responseBytes.sum();
+    }
+    
+    /**
+     * Response body bytes after decompression
+     */
+    public long getDecodedResponseBytes() {
+        return decodedResponseBytes.sum();
+    }
+}
@@ -0,0 +1,64 @@
+package com.llmverifier.sdk;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Carries one request/response exchange for the client. Retries, circuit breaking,
+ * hedging and concurrency limiting sit above the transport, so an implementation
+ * only has to move bytes. The client closes its transport when it is closed.
+ */
+public interface Transport extends AutoCloseable {
+    
+    <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler);
+    
+    /**
+     * Release the transport's connections; the default suits transports that hold none
+     */
+    @Override
+    default void close() {
+    }
+    
+    /**
+     * Default transport: a single JDK HttpClient, which keeps connections alive and
+     * negotiates HTTP/2 (its default) when the server supports it. Closing drops the
+     * client, so its connections and selector thread go even while the owning
+     * LLMVerifierClient is still referenced, and closes it outright where HttpClient
+     * is AutoCloseable (JDK 21+).
+     */
+    static Transport http(Duration connectTimeout, Executor executor) {
+        return new Transport() {
+            private volatile HttpClient httpClient = HttpClient.newBuilder()
+                    .connectTimeout(connectTimeout)
+                    .executor(executor)
+                    .build();
+            
+            @Override
+            public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request,
+                                                                    HttpResponse.BodyHandler<T> bodyHandler) {
+                HttpClient current = httpClient;
+                if (current == null) {
+                    return CompletableFuture.failedFuture(new LLMVerifierClient.LLMVerifierException("Transport is closed"));
+                }
+                return current.sendAsync(request, bodyHandler);
+            }
+            
+            @Override
+            public void close() {
+                HttpClient current = httpClient;
+                httpClient = null;
+                if (current instanceof AutoCloseable) {
+                    try {
+                        ((AutoCloseable) current).close();
+                    } catch (Exception e) {
+                        throw new LLMVerifierClient.LLMVerifierException("Failed to close HTTP client", e);
+                    }
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,142 @@
+package com.llmverifier.sdk;
+
+import com.llmverifier.sdk.LLMVerifierClient.BatchVerificationRequest;
+import com.llmverifier.sdk.LLMVerifierClient.LLMVerifierException;
+import com.llmverifier.sdk.LLMVerifierClient.VerificationResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Function;
+
+/**
+ * Collects individual verifyModel calls into batch requests.
+ * A batch is sent once it reaches {@code maxBatchSize} items or when the first
+ * item has waited {@code lingerNanos}, whichever comes first. Each caller still
+ * receives its own future, completed from the matching position of the batch response.
+ */
+final class VerifyBatcher {
+    private final int maxBatchSize;
+    private final long lingerNanos;
+    private final Function<List<BatchVerificationRequest>, CompletableFuture<List<VerificationResult>>> sender;
+    private final Executor executor;
+    
+    private List<Pending> buffer = new ArrayList<>();
+    
+    VerifyBatcher(int maxBatchSize, long lingerNanos,
+                  Function<List<BatchVerificationRequest>, CompletableFuture<List<VerificationResult>>> sender,
+                  Executor executor) {
+        this.maxBatchSize = maxBatchSize;
+        this.lingerNanos = lingerNanos;
+        this.sender = sender;
+        this.executor = executor;
+    }
+    
+    CompletableFuture<VerificationResult> submit(String modelId, String prompt) {
+        Pending pending = new Pending(new BatchVerificationRequest(modelId, prompt));
+        List<Pending> full = null;
+        synchronized (this) {
+            buffer.add(pending);
+            if (buffer.size() >= maxBatchSize) {
+                full = drain();
+            } else if (buffer.size() == 1) {
+                List<Pending> batch = buffer;
+                Schedulers.SHARED.schedule(() -> flushOnTimer(batch), lingerNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        return pending.future;
+    }
+    
+    /**
+     * Send whatever is buffered right away, then wait until the deadline for the flushed callers to be answered; any
+     * still waiting then are failed, as the client is about to stop their callbacks
+     */
+    void flushAndAwait(long deadlineNanos) {
+        List<Pending> batch;
+        synchronized (this) {
+            batch = drain();
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        dispatch(batch);
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[batch.size()];
+        for (int i = 0; i < futures.length; i++) {
+            futures[i] = batch.get(i).future;
+        }
+        try {
+            CompletableFuture.allOf(futures).get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException | CancellationException | TimeoutException e) {
+            // Failures reach their callers; stragglers are failed below
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        fail(batch, new LLMVerifierException("Client is closed"));
+    }
+    
+    private void flushOnTimer(List<Pending> expected) {
+        List<Pending> batch;
+        synchronized (this) {
+            // The batch may already have been sent because it filled up
+            if (buffer != expected) {
+                return;
+            }
+            batch = drain();
+        }
+        try {
+            executor.execute(() -> dispatch(batch));
+        } catch (RejectedExecutionException e) {
+            fail(batch, new LLMVerifierException("Client is closed", e));
+        }
+    }
+    
+    private List<Pending> drain() {
+        List<Pending> batch = buffer;
+        buffer = new ArrayList<>();
+        return batch;
+    }
+    
+    private void dispatch(List<Pending> batch) {
+        List<BatchVerificationRequest> requests = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            requests.add(pending.request);
+        }
+        CompletableFuture<List<VerificationResult>> response;
+        try {
+            response = sender.apply(requests);
+        } catch (RuntimeException e) {
+            fail(batch, e);
+            return;
+        }
+        response.whenComplete((results, error) -> {
+            if (error != null) {
+                fail(batch, error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+            } else if (results == null || results.size() != batch.size()) {
+                fail(batch, new LLMVerifierException("Batch response has " + (results == null ? 0 : results.size())
+                        + " results for " + batch.size() + " requests"));
+            } else {
+                for (int i = 0; i < batch.size(); i++) {
+                    batch.get(i).future.complete(results.get(i));
+                }
+            }
+        });
+    }
+    
+    private static void fail(List<Pending> batch, Throwable error) {
+        for (Pending pending : batch) {
+            pending.future.completeExceptionally(error);
+        }
+    }
+    
+    private static final class Pending {
+        final BatchVerificationRequest request;
+        final CompletableFuture<VerificationResult> future = new CompletableFuture<>();
+        
+        Pending(BatchVerificationRequest request) {
+            this.request = request;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.llmverifier.sdk;
+
+import com.fasterxml.jackson.core.JsonFactory;
+
+/**
+ * Payload encodings the client can negotiate with the server.
+ * Binary formats need the matching jackson-dataformat module on the classpath;
+ * it is loaded reflectively so JSON-only users do not depend on it.
+ */
+public enum WireFormat {
+    JSON("application/json", null),
+    CBOR("application/cbor", "com.fasterxml.jackson.dataformat.cbor.CBORFactory"),
+    SMILE("application/x-jackson-smile", "com.fasterxml.jackson.dataformat.smile.SmileFactory");
+    
+    private final String mediaType;
+    private final String factoryClass;
+    
+    WireFormat(String mediaType, String factoryClass) {
+        this.mediaType = mediaType;
+        this.factoryClass = factoryClass;
+    }
+    
+    public String getMediaType() {
+        return mediaType;
+    }
+    
+    public boolean isBinary() {
+        return factoryClass != null;
+    }
+    
+    /**
+     * Whether the Jackson module for this format is on the classpath
+     */
+    public boolean isAvailable() {
+        if (factoryClass == null) {
+            return true;
+        }
+        try {
+            Class.forName(factoryClass);
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+    
+    /**
+     * Whether a Content-Type header value denotes this format
+     */
+    boolean matches(String contentType) {
+        return contentType.regionMatches(true, 0, mediaType, 0, mediaType.length());
+    }
+    
+    JsonFactory newFactory() {
+        if (factoryClass == null) {
+            return new JsonFactory();
+        }
+        try {
+            return (JsonFactory) Class.forName(factoryClass).getConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            throw new IllegalStateException(name() + " wire format requires " + factoryClass + " on the classpath", e);
+        }
+    }
+}